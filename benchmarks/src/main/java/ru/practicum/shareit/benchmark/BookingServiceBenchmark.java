@@ -0,0 +1,46 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BookingServiceBenchmark {
+
+    @Param({"ALL", "CURRENT", "FUTURE", "PAST", "WAITING", "REJECTED"})
+    public String bookingState;
+
+    @Param("0")
+    public int from;
+
+    @Param("10")
+    public int size;
+
+    @Benchmark
+    public List<BookingResponse> getAllUserBookings(ShareItState state) throws Exception {
+        return state.inSession(() -> state.bookingService.getAllUserBookings(
+                state.bookerId, bookingState, from, size, null, null));
+    }
+
+    @Benchmark
+    public List<BookingResponse> getAllOwnerBookings(ShareItState state) throws Exception {
+        return state.inSession(() -> state.bookingService.getAllOwnerBookings(
+                state.ownerId, bookingState, from, size, null, null));
+    }
+}
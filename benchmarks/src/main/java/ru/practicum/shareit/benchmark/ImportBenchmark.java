@@ -0,0 +1,57 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemCreate;
+import ru.practicum.shareit.item.service.ItemImportService;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Время загрузки пачки Item через ItemImportService; строк в секунду = rows / время.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ImportBenchmark {
+
+    @Param("1000")
+    public int rows;
+
+    private ItemImportService itemImportService;
+    private List<ItemCreate> items;
+
+    @Setup
+    public void setUp(ShareItState state) {
+        itemImportService = state.context.getBean(ItemImportService.class);
+        items = IntStream.range(0, rows)
+                .mapToObj(i -> {
+                    var itemCreate = new ItemCreate();
+                    itemCreate.setName("imported " + i);
+                    itemCreate.setDescription("Imported catalogue item " + i);
+                    itemCreate.setIsAvailable(true);
+                    return itemCreate;
+                })
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public int importItems(ShareItState state) throws Exception {
+        return itemImportService.importItems(state.ownerId, items);
+    }
+}
@@ -0,0 +1,47 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.item.dto.ItemResponse;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Param({"0", "20"})
+    public int from;
+
+    @Param("10")
+    public int size;
+
+    @Benchmark
+    public List<ItemResponse> getAllItems(ShareItState state) throws Exception {
+        return state.inSession(() -> state.itemService.getAllItems(state.ownerId, from, size));
+    }
+
+    @Benchmark
+    public List<ItemResponse> searchItems(ShareItState state, Search search) throws Exception {
+        return state.inSession(() -> state.itemService.searchItems(search.text, state.bookerId, from, size));
+    }
+
+    @State(Scope.Benchmark)
+    public static class Search {
+        @Param({"drill", "ladder tent", "ka"})
+        public String text;
+    }
+}
@@ -0,0 +1,136 @@
+package ru.practicum.shareit.benchmark;
+
+import org.mapstruct.factory.Mappers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.ItemBookingResponse;
+import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Стоимость маппинга MapStruct без обращения к базе: сущности строятся в памяти.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+
+    @Param({"10", "1000"})
+    public int count;
+
+    private final BookingMapper bookingMapper = Mappers.getMapper(BookingMapper.class);
+    private final ItemMapper itemMapper = Mappers.getMapper(ItemMapper.class);
+    private final CommentMapper commentMapper = Mappers.getMapper(CommentMapper.class);
+    private final UserMapper userMapper = Mappers.getMapper(UserMapper.class);
+
+    private List<User> users;
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        users = new ArrayList<>(count);
+        items = new ArrayList<>(count);
+        bookings = new ArrayList<>(count);
+        comments = new ArrayList<>(count);
+        for (long i = 1; i <= count; i++) {
+            User user = User.builder().id(i).name("user" + i).email("user" + i + "@shareit.ru").build();
+            Item item = Item.builder()
+                    .id(i)
+                    .user(user)
+                    .name("item" + i)
+                    .description("description " + i)
+                    .isAvailable(true)
+                    .build();
+            users.add(user);
+            items.add(item);
+            bookings.add(Booking.builder()
+                    .id(i)
+                    .startDate(now.plusHours(i))
+                    .endDate(now.plusHours(i + 1))
+                    .status(Status.APPROVED)
+                    .booker(user)
+                    .item(item)
+                    .build());
+            comments.add(Comment.builder().id(i).author(user).text("comment " + i).created(now).item(item).build());
+        }
+    }
+
+    @Benchmark
+    public List<BookingResponse> bookingToDto() {
+        List<BookingResponse> result = new ArrayList<>(count);
+        for (Booking booking : bookings) {
+            result.add(bookingMapper.toDto(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemBookingResponse> bookingToDtoItemBooking() {
+        List<ItemBookingResponse> result = new ArrayList<>(count);
+        for (Booking booking : bookings) {
+            result.add(bookingMapper.toDtoItemBooking(booking));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemResponse> itemToDto() {
+        List<ItemResponse> result = new ArrayList<>(count);
+        for (Item item : items) {
+            result.add(itemMapper.toDto(item));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<ItemResponse> itemToDtoWithBooking() {
+        List<ItemResponse> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ItemBookingResponse booking = bookingMapper.toDtoItemBooking(bookings.get(i));
+            List<CommentResponse> itemComments = List.of(commentMapper.toDto(comments.get(i)));
+            result.add(itemMapper.toDtoWithBooking(items.get(i), booking, booking, itemComments));
+        }
+        return result;
+    }
+
+    @Benchmark
+    public List<UserResponse> userToDto() {
+        List<UserResponse> result = new ArrayList<>(count);
+        for (User user : users) {
+            result.add(userMapper.toDto(user));
+        }
+        return result;
+    }
+}
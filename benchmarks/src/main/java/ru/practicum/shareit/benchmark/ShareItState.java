@@ -0,0 +1,169 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+
+/**
+ * Контекст сервера на встроенной H2 в режиме PostgreSQL, заполненный
+ * синтетическими данными заданного объёма.
+ */
+@State(Scope.Benchmark)
+public class ShareItState {
+    /**
+     * Часы сервера остановлены на этом моменте, а бронирования заполняются относительно него:
+     * выборки PAST, CURRENT и FUTURE одинаковы во всех итерациях и запусках.
+     */
+    private static final Instant NOW = Instant.parse("2024-06-01T12:00:00Z");
+    private static final String[] WORDS = {"drill", "saw", "hammer", "ladder", "tent", "bike", "kayak", "camera"};
+
+    @Param("100")
+    public int users;
+
+    @Param("10")
+    public int itemsPerUser;
+
+    @Param("10")
+    public int bookingsPerItem;
+
+    @Param("2")
+    public int commentsPerItem;
+
+    public ConfigurableApplicationContext context;
+    public EntityManagerFactory entityManagerFactory;
+    public ItemService itemService;
+    public BookingService bookingService;
+    public Long ownerId;
+    public Long bookerId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.driverClassName=org.h2.Driver",
+                        "--spring.datasource.url=jdbc:h2:mem:shareit-benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.show-sql=false",
+                        "--shareit.clock.fixed=" + NOW,
+                        "--logging.level.root=WARN",
+                        "--logging.level.org.springframework.transaction=WARN",
+                        "--logging.level.org.springframework.transaction.interceptor=WARN",
+                        "--logging.level.org.springframework.orm.jpa.JpaTransactionManager=WARN",
+                        "--logging.level.org.zalando.logbook=WARN");
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        seed();
+        context.getBean(ItemSearchIndex.class).rebuild();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    /**
+     * Выполняет вызов с открытым EntityManager, как это делает open-in-view
+     * для HTTP-запроса на сервере: ленивые связи в сервисах догружаются в нём.
+     */
+    public <T> T inSession(Callable<T> call) throws Exception {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        try {
+            return call.call();
+        } finally {
+            TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+            entityManager.close();
+        }
+    }
+
+    private void seed() {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.ofInstant(NOW, ZoneId.systemDefault());
+
+        List<User> savedUsers = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            savedUsers.add(User.builder().name("user" + i).email("user" + i + "@shareit.ru").build());
+        }
+        savedUsers = context.getBean(UserRepository.class).saveAll(savedUsers);
+
+        List<Item> items = new ArrayList<>();
+        for (User owner : savedUsers) {
+            for (int i = 0; i < itemsPerUser; i++) {
+                String word = WORDS[random.nextInt(WORDS.length)];
+                items.add(Item.builder()
+                        .user(owner)
+                        .name(word + " " + i)
+                        .description("Good " + word + " for rent, item " + i + " of " + owner.getName())
+                        .isAvailable(random.nextInt(10) > 0)
+                        .build());
+            }
+        }
+        items = context.getBean(ItemRepository.class).saveAll(items);
+
+        List<Booking> bookings = new ArrayList<>();
+        List<Comment> comments = new ArrayList<>();
+        Status[] statuses = Status.values();
+        for (Item item : items) {
+            for (int i = 0; i < bookingsPerItem; i++) {
+                LocalDateTime start = now.plusHours(random.nextInt(24 * 60) - 24 * 30);
+                bookings.add(Booking.builder()
+                        .item(item)
+                        .booker(otherUser(savedUsers, item.getUser(), random))
+                        .startDate(start)
+                        .endDate(start.plusHours(1 + random.nextInt(72)))
+                        .status(statuses[random.nextInt(statuses.length)])
+                        .build());
+            }
+            for (int i = 0; i < commentsPerItem; i++) {
+                comments.add(Comment.builder()
+                        .item(item)
+                        .author(otherUser(savedUsers, item.getUser(), random))
+                        .text("Comment " + i)
+                        .build());
+            }
+        }
+        context.getBean(BookingRepository.class).saveAll(bookings);
+        context.getBean(CommentRepository.class).saveAll(comments);
+
+        ownerId = savedUsers.get(savedUsers.size() / 2).getId();
+        bookerId = savedUsers.get(savedUsers.size() / 3).getId();
+    }
+
+    private static User otherUser(List<User> users, User except, Random random) {
+        User user = users.get(random.nextInt(users.size()));
+        return user.getId().equals(except.getId()) && users.size() > 1 ? otherUser(users, except, random) : user;
+    }
+}
@@ -3,18 +3,24 @@ package ru.practicum.shareit.booking.client;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
 import ru.practicum.shareit.client.RestTemplateFactory;
 
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Component
+@ConditionalOnBlockingClient
 public class BookingClient extends BaseClient {
 
     private static final String API_PREFIX = "/bookings";
 
     public BookingClient(RestTemplateFactory restTemplateFactory) {
-        super(restTemplateFactory.getRestTemplate(API_PREFIX));
+        super(restTemplateFactory.getRestTemplate(API_PREFIX), restTemplateFactory.isPassThrough(), null);
     }
 
     public ResponseEntity<Object> getBooking(long userId, Long bookingId) {
@@ -27,25 +33,46 @@ public class BookingClient extends BaseClient {
         return patch("/" + bookingId + "?approved={approved}", userId, parameters);
     }
 
+    public ResponseEntity<Object> updateBookingStatuses(Long userId, List<BookingStatusRequest> requests) {
+        return patch("", userId, requests);
+    }
+
     public ResponseEntity<Object> addBooking(BookingRequest bookingRequest, Long bookerId) {
         return post("", bookerId, bookingRequest);
     }
 
-    public ResponseEntity<Object> getAllUserBookings(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllUserBookings(Long userId, String state, Integer from, Integer size,
+                                                     LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("?state={state}&from={from}&size={size}" + cursorQuery(afterStart, afterId, parameters),
+                userId, parameters);
     }
 
-    public ResponseEntity<Object> getAllOwnerBookings(Long userId, String state, Integer from, Integer size) {
-        Map<String, Object> parameters = Map.of(
+    public ResponseEntity<Object> getAllOwnerBookings(Long userId, String state, Integer from, Integer size,
+                                                      LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
                 "state", state,
                 "from", from,
                 "size", size
-        );
-        return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
+        ));
+        return get("/owner?state={state}&from={from}&size={size}" + cursorQuery(afterStart, afterId, parameters),
+                userId, parameters);
+    }
+
+    static String cursorQuery(LocalDateTime afterStart, Long afterId, Map<String, Object> parameters) {
+        var query = new StringBuilder();
+        if (afterStart != null) {
+            parameters.put("afterStart", afterStart);
+            query.append("&afterStart={afterStart}");
+        }
+        if (afterId != null) {
+            parameters.put("afterId", afterId);
+            query.append("&afterId={afterId}");
+        }
+        return query.toString();
     }
 }
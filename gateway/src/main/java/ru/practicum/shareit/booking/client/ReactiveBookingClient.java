@@ -0,0 +1,66 @@
+package ru.practicum.shareit.booking.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.WebClientFactory;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnReactiveClient
+public class ReactiveBookingClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/bookings";
+
+    public ReactiveBookingClient(WebClientFactory webClientFactory) {
+        super(webClientFactory.getWebClient(API_PREFIX), API_PREFIX, null);
+    }
+
+    public Mono<ResponseEntity<Object>> getBooking(long userId, Long bookingId) {
+        return get("/" + bookingId, userId);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBookingStatus(Long userId, Long bookingId, Boolean approved) {
+        Map<String, Object> parameters = Map.of(
+                "approved", approved);
+        return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
+    }
+
+    public Mono<ResponseEntity<Object>> updateBookingStatuses(Long userId, List<BookingStatusRequest> requests) {
+        return patch("", userId, null, requests);
+    }
+
+    public Mono<ResponseEntity<Object>> addBooking(BookingRequest bookingRequest, Long bookerId) {
+        return post("", bookerId, bookingRequest);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllUserBookings(Long userId, String state, Integer from, Integer size,
+                                                           LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        return get("?state={state}&from={from}&size={size}"
+                        + BookingClient.cursorQuery(afterStart, afterId, parameters), userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllOwnerBookings(Long userId, String state, Integer from, Integer size,
+                                                            LocalDateTime afterStart, Long afterId) {
+        Map<String, Object> parameters = new HashMap<>(Map.of(
+                "state", state,
+                "from", from,
+                "size", size
+        ));
+        return get("/owner?state={state}&from={from}&size={size}"
+                        + BookingClient.cursorQuery(afterStart, afterId, parameters), userId, parameters);
+    }
+}
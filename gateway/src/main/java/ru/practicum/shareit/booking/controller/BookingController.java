@@ -2,14 +2,22 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
 import ru.practicum.shareit.booking.client.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 
 @Controller
@@ -17,24 +25,31 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@ConditionalOnBlockingClient
 public class BookingController {
 
     private final BookingClient bookingClient;
 
     @GetMapping
     public ResponseEntity<Object> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                      @RequestParam(defaultValue = "ALL") String state,
-                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "10") Integer size) {
-        return bookingClient.getAllUserBookings(userId, state, from, size);
+                                                     @RequestParam(defaultValue = "ALL") String state,
+                                                     @RequestParam(defaultValue = "0") Integer from,
+                                                     @RequestParam(defaultValue = "10") Integer size,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                     @RequestParam(required = false) Long afterId) {
+        return bookingClient.getAllUserBookings(userId, state, from, size, afterStart, afterId);
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                                       @RequestParam(defaultValue = "ALL") String state,
-                                                       @RequestParam(defaultValue = "0") Integer from,
-                                                       @RequestParam(defaultValue = "10") Integer size) {
-        return bookingClient.getAllOwnerBookings(userId, state, from, size);
+                                                      @RequestParam(defaultValue = "ALL") String state,
+                                                      @RequestParam(defaultValue = "0") Integer from,
+                                                      @RequestParam(defaultValue = "10") Integer size,
+                                                      @RequestParam(required = false)
+                                                      @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                      @RequestParam(required = false) Long afterId) {
+        return bookingClient.getAllOwnerBookings(userId, state, from, size, afterStart, afterId);
     }
 
     @PostMapping
@@ -55,4 +70,11 @@ public class BookingController {
                                                       @RequestParam Boolean approved) {
         return bookingClient.updateBookingStatus(userId, bookingId, approved);
     }
+
+    @PatchMapping
+    public ResponseEntity<Object> updateBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestBody @NotEmpty @Size(max = 100)
+                                                        List<@Valid BookingStatusRequest> requests) {
+        return bookingClient.updateBookingStatuses(userId, requests);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,81 @@
+package ru.practicum.shareit.booking.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.booking.client.ReactiveBookingClient;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
+
+
+@Controller
+@RequestMapping(path = "/bookings")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnReactiveClient
+public class ReactiveBookingController {
+
+    private final ReactiveBookingClient bookingClient;
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                           @RequestParam(defaultValue = "ALL") String state,
+                                                           @RequestParam(defaultValue = "0") Integer from,
+                                                           @RequestParam(defaultValue = "10") Integer size,
+                                                           @RequestParam(required = false)
+                                                           @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                           @RequestParam(required = false) Long afterId) {
+        return bookingClient.getAllUserBookings(userId, state, from, size, afterStart, afterId);
+    }
+
+    @GetMapping("/owner")
+    public Mono<ResponseEntity<Object>> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @RequestParam(defaultValue = "ALL") String state,
+                                                            @RequestParam(defaultValue = "0") Integer from,
+                                                            @RequestParam(defaultValue = "10") Integer size,
+                                                            @RequestParam(required = false)
+                                                            @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                            @RequestParam(required = false) Long afterId) {
+        return bookingClient.getAllOwnerBookings(userId, state, from, size, afterStart, afterId);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addBooking(@RequestBody @Valid BookingRequest bookingRequest,
+                                                   @RequestHeader("X-Sharer-User-Id") Long bookerId) {
+        return bookingClient.addBooking(bookingRequest, bookerId);
+    }
+
+    @GetMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long bookingId) {
+        return bookingClient.getBooking(userId, bookingId);
+    }
+
+    @PatchMapping("/{bookingId}")
+    public Mono<ResponseEntity<Object>> updateBookingStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                            @PathVariable Long bookingId,
+                                                            @RequestParam Boolean approved) {
+        return bookingClient.updateBookingStatus(userId, bookingId, approved);
+    }
+
+    @PatchMapping
+    public Mono<ResponseEntity<Object>> updateBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                              @RequestBody @NotEmpty @Size(max = 100)
+                                                              List<@Valid BookingStatusRequest> requests) {
+        return bookingClient.updateBookingStatuses(userId, requests);
+    }
+}
\ No newline at end of file
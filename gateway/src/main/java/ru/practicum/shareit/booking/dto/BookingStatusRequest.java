@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+
+import javax.validation.constraints.NotNull;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingStatusRequest {
+    @NotNull
+    Long bookingId;
+    @NotNull
+    Boolean approved;
+}
@@ -1,18 +1,45 @@
 package ru.practicum.shareit.client;
 
+import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.*;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.http.converter.HttpMessageConverter;
 import org.springframework.lang.Nullable;
+import org.springframework.util.StreamUtils;
 import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RequestCallback;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Collections;
 import java.util.Map;
 
+import static ru.practicum.shareit.client.ServerExchanges.defaultHeaders;
+import static ru.practicum.shareit.client.ServerExchanges.forwardedHeaders;
+import static ru.practicum.shareit.client.ServerExchanges.serverUnavailable;
+
+/**
+ * Блокирующий клиент shareit-server на RestTemplate, режим shareit-server.reactive=false.
+ */
 public class BaseClient {
     protected final RestTemplate rest;
+    private final boolean passThrough;
+    @Nullable
+    private final ResponseCache responseCache;
 
     public BaseClient(RestTemplate rest) {
+        this(rest, false, null);
+    }
+
+    public BaseClient(RestTemplate rest, boolean passThrough, @Nullable ResponseCache responseCache) {
         this.rest = rest;
+        this.passThrough = passThrough;
+        this.responseCache = responseCache;
     }
 
     protected ResponseEntity<Object> get(String path) {
@@ -24,7 +51,30 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+        return send(HttpMethod.GET, path, userId, parameters, null, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * GET через кеш ответов: сохранённая запись перепроверяется на сервере через If-None-Match,
+     * клиенту отдаётся 304, если его собственный If-None-Match совпадает с актуальным ETag.
+     */
+    protected ResponseEntity<Object> getCached(String path, @Nullable Long userId, @Nullable String ifNoneMatch) {
+        if (responseCache == null) {
+            return get(path, userId, null);
+        }
+        String key = rest.getUriTemplateHandler().expand(path) + "#" + userId;
+        CachedResponse cached = responseCache.get(key);
+        ResponseEntity<byte[]> response;
+        try {
+            response = exchangeBytes(path, userId, cached != null ? cached.getEtag() : null);
+        } catch (ResourceAccessException e) {
+            return serverUnavailable(HttpMethod.GET, path, e);
+        }
+        CachedResponse current = responseCache.update(key, cached, response);
+        if (current == null) {
+            return ServerExchanges.toGatewayResponse(response);
+        }
+        return current.toResponse(ifNoneMatch);
     }
 
     protected <T> ResponseEntity<Object> post(String path, T body) {
@@ -36,7 +86,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+        return send(HttpMethod.POST, path, userId, parameters, body, HttpHeaders.EMPTY);
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
@@ -44,7 +94,7 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+        return send(HttpMethod.PUT, path, userId, parameters, body, HttpHeaders.EMPTY);
     }
 
     protected <T> ResponseEntity<Object> patch(String path, T body) {
@@ -64,7 +114,19 @@ public class BaseClient {
     }
 
     protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+        return send(HttpMethod.PATCH, path, userId, parameters, body, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * PATCH с If-Match клиента: сервер отклонит изменение, если ресурс изменился после чтения.
+     */
+    protected <T> ResponseEntity<Object> patchIfMatch(String path, @Nullable Long userId, T body,
+                                                      @Nullable String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return send(HttpMethod.PATCH, path, userId, null, body, headers);
     }
 
     protected ResponseEntity<Object> delete(String path) {
@@ -76,11 +138,59 @@ public class BaseClient {
     }
 
     protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+        return send(HttpMethod.DELETE, path, userId, parameters, null, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * Передаёт тело запроса на сервер потоком, не загружая его в память gateway.
+     */
+    protected ResponseEntity<Object> postStream(String path, Long userId, MediaType contentType, InputStream body) {
+        try {
+            return forward(HttpMethod.POST, path, userId, null, request -> {
+                request.getHeaders().setContentType(contentType);
+                if (request instanceof StreamingHttpOutputMessage) {
+                    ((StreamingHttpOutputMessage) request).setBody(body::transferTo);
+                } else {
+                    body.transferTo(request.getBody());
+                }
+            });
+        } catch (ResourceAccessException e) {
+            return serverUnavailable(HttpMethod.POST, path, e);
+        }
+    }
+
+    private <T> ResponseEntity<Object> send(HttpMethod method, String path, Long userId,
+                                            @Nullable Map<String, Object> parameters, @Nullable T body,
+                                            HttpHeaders headers) {
+        try {
+            if (passThrough) {
+                return forwardRequest(method, path, userId, parameters, body, headers);
+            }
+            return makeAndSendRequest(method, path, userId, parameters, body, headers);
+        } catch (ResourceAccessException e) {
+            return serverUnavailable(method, path, e);
+        }
+    }
+
+    private ResponseEntity<byte[]> exchangeBytes(String path, @Nullable Long userId, @Nullable String etag) {
+        ResponseEntity<Object> response = forward(HttpMethod.GET, path, userId, null, request -> {
+            if (etag != null) {
+                request.getHeaders().setIfNoneMatch(etag);
+            }
+        });
+        try (InputStream body = ((InputStreamResource) response.getBody()).getInputStream()) {
+            return ResponseEntity.status(response.getStatusCodeValue())
+                    .headers(response.getHeaders())
+                    .body(StreamUtils.copyToByteArray(body));
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка чтения ответа GET " + path, e);
+        }
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
+    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body, HttpHeaders headers) {
+        HttpHeaders requestHeaders = defaultHeaders(userId);
+        requestHeaders.addAll(headers);
+        HttpEntity<T> requestEntity = new HttpEntity<>(body, requestHeaders);
 
         ResponseEntity<Object> shareitServerResponse;
         try {
@@ -95,14 +205,54 @@ public class BaseClient {
         return prepareGatewayResponse(shareitServerResponse);
     }
 
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
-        if (userId != null) {
-            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+    /**
+     * Проксирует запрос на сервер без разбора ответа: статус, заголовки и тело
+     * отдаются клиенту как есть, тело передаётся потоком.
+     */
+    private <T> ResponseEntity<Object> forwardRequest(HttpMethod method, String path, Long userId,
+                                                      @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                      HttpHeaders headers) {
+        return forward(method, path, userId, parameters, request -> {
+            request.getHeaders().addAll(headers);
+            if (body != null) {
+                writeBody(request, body);
+            }
+        });
+    }
+
+    private ResponseEntity<Object> forward(HttpMethod method, String path, Long userId,
+                                           @Nullable Map<String, Object> parameters, RequestCallback callback) {
+        URI uri = rest.getUriTemplateHandler()
+                .expand(path, parameters != null ? parameters : Collections.emptyMap());
+        ClientHttpResponse response;
+        try {
+            ClientHttpRequest request = rest.getRequestFactory().createRequest(uri, method);
+            request.getHeaders().addAll(defaultHeaders(userId));
+            callback.doWithRequest(request);
+            response = request.execute();
+        } catch (IOException e) {
+            throw new ResourceAccessException("Ошибка ввода-вывода при запросе " + method + " " + uri, e);
+        }
+
+        try {
+            return ResponseEntity.status(response.getRawStatusCode())
+                    .headers(forwardedHeaders(response.getHeaders()))
+                    .body(new InputStreamResource(response.getBody()));
+        } catch (IOException e) {
+            response.close();
+            throw new ResourceAccessException("Ошибка чтения ответа " + method + " " + uri, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> void writeBody(ClientHttpRequest request, T body) throws IOException {
+        for (HttpMessageConverter<?> converter : rest.getMessageConverters()) {
+            if (converter.canWrite(body.getClass(), MediaType.APPLICATION_JSON)) {
+                ((HttpMessageConverter<T>) converter).write(body, MediaType.APPLICATION_JSON, request);
+                return;
+            }
         }
-        return headers;
+        throw new RestClientException("Нет конвертера для тела запроса " + body.getClass().getName());
     }
 
     private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
@@ -118,4 +268,4 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
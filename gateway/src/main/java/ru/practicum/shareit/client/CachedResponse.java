@@ -0,0 +1,43 @@
+package ru.practicum.shareit.client;
+
+import lombok.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Value
+public class CachedResponse {
+    String etag;
+    @Nullable
+    MediaType contentType;
+    List<String> vary;
+    byte[] body;
+
+    /**
+     * Ответ клиенту из записи кеша: 304 без тела, если его If-None-Match совпадает с ETag записи.
+     */
+    public ResponseEntity<Object> toResponse(@Nullable String ifNoneMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(etag);
+        headers.setVary(vary);
+        if (matches(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).headers(headers).build();
+        }
+        if (contentType != null) {
+            headers.setContentType(contentType);
+        }
+        return ResponseEntity.ok().headers(headers).body(body);
+    }
+
+    private boolean matches(@Nullable String ifNoneMatch) {
+        return ifNoneMatch != null && Arrays.stream(ifNoneMatch.split(","))
+                .map(String::trim)
+                .map(tag -> tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(etag::equals);
+    }
+}
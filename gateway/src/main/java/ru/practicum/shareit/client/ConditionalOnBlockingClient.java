@@ -0,0 +1,19 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Бин режима по умолчанию (shareit-server.reactive=false): запросы к серверу идут через RestTemplate.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Documented
+@ConditionalOnProperty(name = "shareit-server.reactive", havingValue = "false", matchIfMissing = true)
+public @interface ConditionalOnBlockingClient {
+}
@@ -0,0 +1,142 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.BodyInserters;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.Map;
+
+import static ru.practicum.shareit.client.ServerExchanges.defaultHeaders;
+import static ru.practicum.shareit.client.ServerExchanges.serverUnavailable;
+
+/**
+ * Неблокирующий клиент shareit-server на WebClient, режим shareit-server.reactive=true:
+ * тело ответа сервера не разбирается, а передаётся клиенту байтами вместе со статусом и заголовками.
+ */
+public class ReactiveBaseClient {
+    private static final int STREAM_BUFFER_SIZE = 64 * 1024;
+
+    protected final WebClient webClient;
+    private final String prefix;
+    @Nullable
+    private final ResponseCache responseCache;
+
+    public ReactiveBaseClient(WebClient webClient, String prefix, @Nullable ResponseCache responseCache) {
+        this.webClient = webClient;
+        this.prefix = prefix;
+        this.responseCache = responseCache;
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId) {
+        return get(path, userId, null);
+    }
+
+    protected Mono<ResponseEntity<Object>> get(String path, @Nullable Long userId,
+                                               @Nullable Map<String, Object> parameters) {
+        return send(HttpMethod.GET, path, userId, parameters, null, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * GET через кеш ответов, как BaseClient.getCached.
+     */
+    protected Mono<ResponseEntity<Object>> getCached(String path, @Nullable Long userId,
+                                                     @Nullable String ifNoneMatch) {
+        if (responseCache == null) {
+            return get(path, userId);
+        }
+        String key = prefix + path + "#" + userId;
+        CachedResponse cached = responseCache.get(key);
+        return webClient.get()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.getEtag());
+                    }
+                })
+                .exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(response -> {
+                    CachedResponse current = responseCache.update(key, cached, response);
+                    if (current == null) {
+                        return ServerExchanges.toGatewayResponse(response);
+                    }
+                    return current.toResponse(ifNoneMatch);
+                })
+                .onErrorResume(WebClientRequestException.class,
+                        e -> Mono.just(serverUnavailable(HttpMethod.GET, path, e)));
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, @Nullable Long userId, T body) {
+        return send(HttpMethod.POST, path, userId, null, body, HttpHeaders.EMPTY);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, @Nullable Long userId,
+                                                     @Nullable Map<String, Object> parameters, @Nullable T body) {
+        return send(HttpMethod.PATCH, path, userId, parameters, body, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * PATCH с If-Match клиента: сервер отклонит изменение, если ресурс изменился после чтения.
+     */
+    protected <T> Mono<ResponseEntity<Object>> patchIfMatch(String path, @Nullable Long userId, T body,
+                                                            @Nullable String ifMatch) {
+        HttpHeaders headers = new HttpHeaders();
+        if (ifMatch != null) {
+            headers.set(HttpHeaders.IF_MATCH, ifMatch);
+        }
+        return send(HttpMethod.PATCH, path, userId, null, body, headers);
+    }
+
+    protected Mono<ResponseEntity<Object>> delete(String path) {
+        return send(HttpMethod.DELETE, path, null, null, null, HttpHeaders.EMPTY);
+    }
+
+    /**
+     * Передаёт тело запроса на сервер потоком, не загружая его в память gateway.
+     */
+    protected Mono<ResponseEntity<Object>> postStream(String path, Long userId, MediaType contentType,
+                                                      InputStream body) {
+        Flux<DataBuffer> buffers = DataBufferUtils.readInputStream(() -> body,
+                        DefaultDataBufferFactory.sharedInstance, STREAM_BUFFER_SIZE)
+                .subscribeOn(Schedulers.boundedElastic());
+        return exchange(HttpMethod.POST, path, webClient.post()
+                .uri(path)
+                .headers(headers -> {
+                    headers.addAll(defaultHeaders(userId));
+                    headers.setContentType(contentType);
+                })
+                .body(BodyInserters.fromDataBuffers(buffers)));
+    }
+
+    private <T> Mono<ResponseEntity<Object>> send(HttpMethod method, String path, @Nullable Long userId,
+                                                  @Nullable Map<String, Object> parameters, @Nullable T body,
+                                                  HttpHeaders headers) {
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(path, parameters != null ? parameters : Collections.emptyMap())
+                .headers(requestHeaders -> {
+                    requestHeaders.addAll(defaultHeaders(userId));
+                    requestHeaders.addAll(headers);
+                });
+        return exchange(method, path, body != null ? request.bodyValue(body) : request);
+    }
+
+    private Mono<ResponseEntity<Object>> exchange(HttpMethod method, String path,
+                                                  WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(ServerExchanges::toGatewayResponse)
+                .onErrorResume(WebClientRequestException.class, e -> Mono.just(serverUnavailable(method, path, e)));
+    }
+}
@@ -0,0 +1,97 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Ограниченный LRU-кеш ответов shareit-server на GET с ETag. Запись не считается свежей:
+ * BaseClient каждый раз перепроверяет её через If-None-Match, и при 304 тело берётся из кеша.
+ */
+@Component
+public class ResponseCache {
+
+    private static final String METRIC = "shareit.gateway.response.cache";
+
+    private final int maxEntrySize;
+    private final Map<String, CachedResponse> entries;
+    private final Counter notModified;
+    private final Counter modified;
+    private final Counter uncached;
+
+    public ResponseCache(@Value("${shareit-server.cache.max-entries:10000}") int maxEntries,
+                         @Value("${shareit-server.cache.max-entry-size:65536}") int maxEntrySize,
+                         MeterRegistry meterRegistry) {
+        this.maxEntrySize = maxEntrySize;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.notModified = counter(meterRegistry, "not_modified");
+        this.modified = counter(meterRegistry, "modified");
+        this.uncached = counter(meterRegistry, "uncached");
+        Gauge.builder(METRIC + ".size", this, ResponseCache::size)
+                .description("Записи кеша ответов gateway")
+                .register(meterRegistry);
+    }
+
+    @Nullable
+    public synchronized CachedResponse get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Применяет ответ сервера к записи кеша. Возвращает актуальную запись
+     * или null, если ответ не кешируется и должен уйти клиенту как есть.
+     */
+    @Nullable
+    public CachedResponse update(String key, @Nullable CachedResponse cached, ResponseEntity<byte[]> response) {
+        if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            notModified.increment();
+            return cached;
+        }
+        HttpHeaders headers = response.getHeaders();
+        byte[] body = response.getBody();
+        if (response.getStatusCode() != HttpStatus.OK || headers.getETag() == null
+                || body == null || body.length > maxEntrySize) {
+            remove(key);
+            uncached.increment();
+            return null;
+        }
+        CachedResponse current = new CachedResponse(headers.getETag(), headers.getContentType(),
+                headers.getVary(), body);
+        put(key, current);
+        modified.increment();
+        return current;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private synchronized void put(String key, CachedResponse response) {
+        entries.put(key, response);
+    }
+
+    private synchronized void remove(String key) {
+        entries.remove(key);
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC)
+                .tag("outcome", outcome)
+                .description("Перепроверки кеша ответов gateway")
+                .register(meterRegistry);
+    }
+}
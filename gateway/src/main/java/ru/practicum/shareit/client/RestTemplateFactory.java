@@ -1,27 +1,128 @@
 package ru.practicum.shareit.client;
 
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.util.DefaultUriBuilderFactory;
 
-import java.util.HashMap;
+import java.time.Duration;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
 
 @Configuration
+@ConditionalOnBlockingClient
 public class RestTemplateFactory {
 
     @Value("${shareit-server.url}")
     private String serverUrl;
 
-    private final Map<String, RestTemplate> restTemplateCache = new HashMap<>();
+    @Value("${shareit-server.pass-through:true}")
+    private boolean passThrough;
+
+    @Value("${shareit-server.pool.max-total:200}")
+    private int maxTotal;
+
+    @Value("${shareit-server.pool.max-per-route:200}")
+    private int maxPerRoute;
+
+    @Value("${shareit-server.pool.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${shareit-server.pool.validate-after-inactivity:2s}")
+    private Duration validateAfterInactivity;
+
+    @Value("${shareit-server.pool.keep-alive:30s}")
+    private Duration keepAlive;
+
+    @Value("${shareit-server.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${shareit-server.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${shareit-server.connection-request-timeout:2s}")
+    private Duration connectionRequestTimeout;
+
+    private final Map<String, RestTemplate> restTemplateCache = new ConcurrentHashMap<>();
 
     public RestTemplate getRestTemplate(String prefix) {
         return restTemplateCache.computeIfAbsent(prefix, p -> new RestTemplateBuilder()
                 .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + p))
-                .requestFactory(HttpComponentsClientHttpRequestFactory::new)
+                .requestFactory(this::shareitServerRequestFactory)
                 .build());
     }
+
+    private HttpComponentsClientHttpRequestFactory shareitServerRequestFactory() {
+        HttpComponentsClientHttpRequestFactory factory =
+                new HttpComponentsClientHttpRequestFactory(shareitServerHttpClient());
+        factory.setBufferRequestBody(false);
+        return factory;
+    }
+
+    public boolean isPassThrough() {
+        return passThrough;
+    }
+
+    @Bean
+    public PoolingHttpClientConnectionManager shareitServerConnectionManager() {
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(maxTotal);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+        return connectionManager;
+    }
+
+    @Bean
+    public CloseableHttpClient shareitServerHttpClient() {
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout((int) connectTimeout.toMillis())
+                .setSocketTimeout((int) readTimeout.toMillis())
+                .setConnectionRequestTimeout((int) connectionRequestTimeout.toMillis())
+                .build();
+        return HttpClients.custom()
+                .setConnectionManager(shareitServerConnectionManager())
+                .setDefaultRequestConfig(requestConfig)
+                .setKeepAliveStrategy((response, context) -> {
+                    long serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                            .getKeepAliveDuration(response, context);
+                    return serverKeepAlive > 0 ? Math.min(serverKeepAlive, keepAlive.toMillis()) : keepAlive.toMillis();
+                })
+                .evictExpiredConnections()
+                .evictIdleConnections(idleEviction.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    @Bean
+    public MeterBinder shareitServerPoolMetrics(PoolingHttpClientConnectionManager shareitServerConnectionManager) {
+        return registry -> {
+            poolGauge(registry, "leased", shareitServerConnectionManager, PoolStats::getLeased);
+            poolGauge(registry, "available", shareitServerConnectionManager, PoolStats::getAvailable);
+            poolGauge(registry, "pending", shareitServerConnectionManager, PoolStats::getPending);
+            poolGauge(registry, "max", shareitServerConnectionManager, PoolStats::getMax);
+        };
+    }
+
+    private static void poolGauge(MeterRegistry registry, String state,
+                                  PoolingHttpClientConnectionManager connectionManager,
+                                  ToDoubleFunction<PoolStats> value) {
+        Gauge.builder("shareit.gateway.http.pool.connections", connectionManager,
+                        m -> value.applyAsDouble(m.getTotalStats()))
+                .tag("state", state)
+                .description("Соединения пула gateway -> shareit-server")
+                .register(registry);
+    }
 }
@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Общие правила обмена с shareit-server для BaseClient и ReactiveBaseClient.
+ */
+@Slf4j
+final class ServerExchanges {
+    private static final Set<String> HOP_BY_HOP_HEADERS = Set.of(
+            HttpHeaders.CONNECTION.toLowerCase(),
+            HttpHeaders.TRANSFER_ENCODING.toLowerCase(),
+            HttpHeaders.UPGRADE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHENTICATE.toLowerCase(),
+            HttpHeaders.PROXY_AUTHORIZATION.toLowerCase(),
+            HttpHeaders.TE.toLowerCase(),
+            HttpHeaders.TRAILER.toLowerCase(),
+            "keep-alive"
+    );
+
+    private ServerExchanges() {
+    }
+
+    static HttpHeaders defaultHeaders(@Nullable Long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setAccept(List.of(MediaType.APPLICATION_JSON));
+        if (userId != null) {
+            headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        }
+        return headers;
+    }
+
+    static HttpHeaders forwardedHeaders(HttpHeaders serverHeaders) {
+        HttpHeaders headers = new HttpHeaders();
+        serverHeaders.forEach((name, values) -> {
+            if (!HOP_BY_HOP_HEADERS.contains(name.toLowerCase())) {
+                headers.addAll(name, values);
+            }
+        });
+        return headers;
+    }
+
+    static ResponseEntity<Object> toGatewayResponse(ResponseEntity<byte[]> response) {
+        return ResponseEntity.status(response.getStatusCodeValue())
+                .headers(forwardedHeaders(response.getHeaders()))
+                .body(response.getBody());
+    }
+
+    /**
+     * Ответ клиенту, если до shareit-server не удалось достучаться: соединение не установлено,
+     * оборвано или истёк таймаут. Оба клиента отвечают одинаково.
+     */
+    static ResponseEntity<Object> serverUnavailable(HttpMethod method, String path, Exception e) {
+        log.warn("shareit-server недоступен: {} {}: {}", method, path, e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of("error", "shareit-server недоступен"));
+    }
+}
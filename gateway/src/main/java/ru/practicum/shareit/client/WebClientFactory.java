@@ -0,0 +1,74 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Configuration
+@ConditionalOnReactiveClient
+public class WebClientFactory {
+
+    @Value("${shareit-server.url}")
+    private String serverUrl;
+
+    @Value("${shareit-server.pool.max-total:200}")
+    private int maxTotal;
+
+    @Value("${shareit-server.pool.max-pending:2000}")
+    private int maxPending;
+
+    @Value("${shareit-server.pool.idle-eviction:30s}")
+    private Duration idleEviction;
+
+    @Value("${shareit-server.connect-timeout:2s}")
+    private Duration connectTimeout;
+
+    @Value("${shareit-server.read-timeout:10s}")
+    private Duration readTimeout;
+
+    @Value("${shareit-server.connection-request-timeout:2s}")
+    private Duration connectionRequestTimeout;
+
+    private final Map<String, WebClient> webClientCache = new ConcurrentHashMap<>();
+
+    private volatile ConnectionProvider connectionProvider;
+
+    public WebClient getWebClient(String prefix) {
+        return webClientCache.computeIfAbsent(prefix, p -> WebClient.builder()
+                .baseUrl(serverUrl + p)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider())
+                        .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                        .responseTimeout(readTimeout)))
+                .build());
+    }
+
+    private synchronized ConnectionProvider connectionProvider() {
+        if (connectionProvider == null) {
+            connectionProvider = ConnectionProvider.builder("shareit-server")
+                    .maxConnections(maxTotal)
+                    .pendingAcquireMaxCount(maxPending)
+                    .pendingAcquireTimeout(connectionRequestTimeout)
+                    .maxIdleTime(idleEviction)
+                    .evictInBackground(idleEviction)
+                    .metrics(true)
+                    .build();
+        }
+        return connectionProvider;
+    }
+
+    @PreDestroy
+    public void close() {
+        if (connectionProvider != null) {
+            connectionProvider.dispose();
+        }
+    }
+}
@@ -1,33 +1,38 @@
 package ru.practicum.shareit.item.client;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.client.RestTemplateFactory;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.ItemCreate;
 
+import java.io.InputStream;
 import java.util.Map;
 
 @Component
+@ConditionalOnBlockingClient
 public class ItemClient extends BaseClient {
 
     private static final String API_PREFIX = "/items";
 
-    public ItemClient(RestTemplateFactory restTemplateFactory) {
-        super(restTemplateFactory.getRestTemplate(API_PREFIX));
+    public ItemClient(RestTemplateFactory restTemplateFactory, ResponseCache responseCache) {
+        super(restTemplateFactory.getRestTemplate(API_PREFIX), restTemplateFactory.isPassThrough(), responseCache);
     }
 
     public ResponseEntity<Object> createItem(ItemCreate itemCreate, Long userId) {
         return post("", userId, itemCreate);
     }
 
-    public ResponseEntity<Object> updateItem(ItemCreate itemCreate, Long userId, Long itemId) {
-        return patch("/" + itemId, userId, itemCreate);
+    public ResponseEntity<Object> updateItem(ItemCreate itemCreate, Long userId, Long itemId, String ifMatch) {
+        return patchIfMatch("/" + itemId, userId, itemCreate, ifMatch);
     }
 
-    public ResponseEntity<Object> getItem(Long userId, Long itemId) {
-        return get("/" + itemId, userId);
+    public ResponseEntity<Object> getItem(Long userId, Long itemId, String ifNoneMatch) {
+        return getCached("/" + itemId, userId, ifNoneMatch);
     }
 
     public ResponseEntity<Object> getAllItems(Long userId, Integer from, Integer size) {
@@ -50,4 +55,12 @@ public class ItemClient extends BaseClient {
         );
         return get("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
+
+    public ResponseEntity<Object> importItems(Long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
+    public ResponseEntity<Object> getImportStatus(Long userId, String importId) {
+        return get("/import/" + importId, userId);
+    }
 }
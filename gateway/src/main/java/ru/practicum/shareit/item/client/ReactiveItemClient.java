@@ -0,0 +1,67 @@
+package ru.practicum.shareit.item.client;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.item.dto.CommentRequest;
+import ru.practicum.shareit.item.dto.ItemCreate;
+
+import java.io.InputStream;
+import java.util.Map;
+
+@Component
+@ConditionalOnReactiveClient
+public class ReactiveItemClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/items";
+
+    public ReactiveItemClient(WebClientFactory webClientFactory, ResponseCache responseCache) {
+        super(webClientFactory.getWebClient(API_PREFIX), API_PREFIX, responseCache);
+    }
+
+    public Mono<ResponseEntity<Object>> createItem(ItemCreate itemCreate, Long userId) {
+        return post("", userId, itemCreate);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemCreate itemCreate, Long userId, Long itemId, String ifMatch) {
+        return patchIfMatch("/" + itemId, userId, itemCreate, ifMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> getItem(Long userId, Long itemId, String ifNoneMatch) {
+        return getCached("/" + itemId, userId, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllItems(Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(CommentRequest commentRequest, Long userId, Long itemId) {
+        return post("/" + itemId + "/comment", userId, commentRequest);
+    }
+
+    public Mono<ResponseEntity<Object>> searchItems(String text, Long userId, Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "from", from,
+                "size", size
+        );
+        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> importItems(Long userId, MediaType contentType, InputStream body) {
+        return postStream("/import", userId, contentType, body);
+    }
+
+    public Mono<ResponseEntity<Object>> getImportStatus(Long userId, String importId) {
+        return get("/import/" + importId, userId);
+    }
+}
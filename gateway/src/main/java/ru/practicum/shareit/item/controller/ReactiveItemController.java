@@ -0,0 +1,88 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.item.client.ReactiveItemClient;
+import ru.practicum.shareit.item.dto.CommentRequest;
+import ru.practicum.shareit.item.dto.ItemCreate;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.validation.Valid;
+import java.io.IOException;
+
+@Controller
+@RequestMapping(path = "/items")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnReactiveClient
+public class ReactiveItemController {
+
+    private final ReactiveItemClient itemClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createItem(@RequestBody @Valid ItemCreate itemCreate,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId) {
+        return itemClient.createItem(itemCreate, userId);
+    }
+
+    @PatchMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody ItemCreate itemCreate,
+                                                   @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                   @PathVariable Long itemId,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        return itemClient.updateItem(itemCreate, userId, itemId, ifMatch);
+    }
+
+    @GetMapping("/{itemId}")
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long itemId,
+                                                @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                String ifNoneMatch) {
+        return itemClient.getItem(userId, itemId, ifNoneMatch);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam(defaultValue = "0") Integer from,
+                                                    @RequestParam(defaultValue = "10") Integer size) {
+        return itemClient.getAllItems(userId, from, size);
+    }
+
+    @GetMapping("/search")
+    public Mono<ResponseEntity<Object>> searchItems(@RequestParam String text,
+                                                    @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestParam(defaultValue = "0") Integer from,
+                                                    @RequestParam(defaultValue = "10") Integer size) {
+        return itemClient.searchItems(text, userId, from, size);
+    }
+
+    @PostMapping("/{itemId}/comment")
+    public Mono<ResponseEntity<Object>> addCommentItem(@RequestBody @Valid CommentRequest commentRequest,
+                                                       @RequestHeader("X-Sharer-User-Id") Long userId,
+                                                       @PathVariable Long itemId) {
+        return itemClient.addComment(commentRequest, userId, itemId);
+    }
+
+    @PostMapping(path = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    public Mono<ResponseEntity<Object>> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                    @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+                                                    HttpServletRequest request) throws IOException {
+        return itemClient.importItems(userId, contentType, request.getInputStream());
+    }
+
+    @GetMapping("/import/{importId}")
+    public Mono<ResponseEntity<Object>> getImportStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @PathVariable String importId) {
+        return itemClient.getImportStatus(userId, importId);
+    }
+}
@@ -3,18 +3,21 @@ package ru.practicum.shareit.request.client;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.client.RestTemplateFactory;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
 import java.util.Map;
 
 @Component
+@ConditionalOnBlockingClient
 public class ItemRequestClient extends BaseClient {
 
     private static final String API_PREFIX = "/requests";
 
-    public ItemRequestClient(RestTemplateFactory restTemplateFactory) {
-        super(restTemplateFactory.getRestTemplate(API_PREFIX));
+    public ItemRequestClient(RestTemplateFactory restTemplateFactory, ResponseCache responseCache) {
+        super(restTemplateFactory.getRestTemplate(API_PREFIX), restTemplateFactory.isPassThrough(), responseCache);
     }
 
     public ResponseEntity<Object> addRequestItem(ItemRequestRequest itemRequestRequest, Long authorId) {
@@ -37,7 +40,7 @@ public class ItemRequestClient extends BaseClient {
         return get("/all?from={from}&size={size}", authorId, parameters);
     }
 
-    public ResponseEntity<Object> getRequestItem(Long requestId, Long authorId) {
-        return get("/" + requestId, authorId);
+    public ResponseEntity<Object> getRequestItem(Long requestId, Long authorId, String ifNoneMatch) {
+        return getCached("/" + requestId, authorId, ifNoneMatch);
     }
 }
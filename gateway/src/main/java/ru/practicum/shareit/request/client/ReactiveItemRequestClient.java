@@ -0,0 +1,47 @@
+package ru.practicum.shareit.request.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.request.dto.ItemRequestRequest;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnReactiveClient
+public class ReactiveItemRequestClient extends ReactiveBaseClient {
+
+    private static final String API_PREFIX = "/requests";
+
+    public ReactiveItemRequestClient(WebClientFactory webClientFactory, ResponseCache responseCache) {
+        super(webClientFactory.getWebClient(API_PREFIX), API_PREFIX, responseCache);
+    }
+
+    public Mono<ResponseEntity<Object>> addRequestItem(ItemRequestRequest itemRequestRequest, Long authorId) {
+        return post("", authorId, itemRequestRequest);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllOwnerRequestItem(Integer from, Integer size, Long authorId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", authorId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllRequestItem(Integer from, Integer size, Long authorId) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("/all?from={from}&size={size}", authorId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getRequestItem(Long requestId, Long authorId, String ifNoneMatch) {
+        return getCached("/" + requestId, authorId, ifNoneMatch);
+    }
+}
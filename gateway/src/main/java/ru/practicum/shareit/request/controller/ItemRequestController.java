@@ -2,10 +2,12 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
 import ru.practicum.shareit.request.client.ItemRequestClient;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 
@@ -16,6 +18,7 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@ConditionalOnBlockingClient
 public class ItemRequestController {
 
     private final ItemRequestClient itemRequestClient;
@@ -42,7 +45,9 @@ public class ItemRequestController {
 
     @GetMapping("/{requestId}")
     public ResponseEntity<Object> getRequestItem(@PathVariable Long requestId,
-                                                 @RequestHeader("X-Sharer-User-Id") Long authorId) {
-        return itemRequestClient.getRequestItem(requestId, authorId);
+                                                 @RequestHeader("X-Sharer-User-Id") Long authorId,
+                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                 String ifNoneMatch) {
+        return itemRequestClient.getRequestItem(requestId, authorId, ifNoneMatch);
     }
 }
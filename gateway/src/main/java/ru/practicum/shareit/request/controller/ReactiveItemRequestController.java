@@ -0,0 +1,54 @@
+package ru.practicum.shareit.request.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.request.client.ReactiveItemRequestClient;
+import ru.practicum.shareit.request.dto.ItemRequestRequest;
+
+import javax.validation.Valid;
+
+@Controller
+@RequestMapping(path = "/requests")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnReactiveClient
+public class ReactiveItemRequestController {
+
+    private final ReactiveItemRequestClient itemRequestClient;
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> addRequestItem(@RequestBody @Valid ItemRequestRequest itemRequestRequest,
+                                                       @RequestHeader("X-Sharer-User-Id") Long authorId) {
+        return itemRequestClient.addRequestItem(itemRequestRequest, authorId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllOwnerRequestItem(@RequestParam(defaultValue = "0") Integer from,
+                                                               @RequestParam(defaultValue = "10") Integer size,
+                                                               @RequestHeader("X-Sharer-User-Id") Long authorId) {
+        return itemRequestClient.getAllOwnerRequestItem(from, size, authorId);
+    }
+
+    @GetMapping("/all")
+    public Mono<ResponseEntity<Object>> getAllRequestItem(@RequestParam(defaultValue = "0") Integer from,
+                                                          @RequestParam(defaultValue = "10") Integer size,
+                                                          @RequestHeader("X-Sharer-User-Id") Long authorId) {
+        return itemRequestClient.getAllRequestItem(from, size, authorId);
+    }
+
+    @GetMapping("/{requestId}")
+    public Mono<ResponseEntity<Object>> getRequestItem(@PathVariable Long requestId,
+                                                       @RequestHeader("X-Sharer-User-Id") Long authorId,
+                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                       String ifNoneMatch) {
+        return itemRequestClient.getRequestItem(requestId, authorId, ifNoneMatch);
+    }
+}
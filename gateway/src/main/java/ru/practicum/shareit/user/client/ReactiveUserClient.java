@@ -0,0 +1,46 @@
+package ru.practicum.shareit.user.client;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.client.ReactiveBaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.user.dto.UserRequest;
+
+import java.util.Map;
+
+@Component
+@ConditionalOnReactiveClient
+public class ReactiveUserClient extends ReactiveBaseClient {
+    private static final String API_PREFIX = "/users";
+
+    public ReactiveUserClient(WebClientFactory webClientFactory, ResponseCache responseCache) {
+        super(webClientFactory.getWebClient(API_PREFIX), API_PREFIX, responseCache);
+    }
+
+    public Mono<ResponseEntity<Object>> getUser(Long userId, String ifNoneMatch) {
+        return getCached("/" + userId, null, ifNoneMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> createUser(UserRequest userRequest) {
+        return post("", null, userRequest);
+    }
+
+    public Mono<ResponseEntity<Object>> updateUser(Long userId, UserRequest userRequest, String ifMatch) {
+        return patchIfMatch("/" + userId, null, userRequest, ifMatch);
+    }
+
+    public Mono<ResponseEntity<Object>> deleteUser(Long userId) {
+        return delete("/" + userId);
+    }
+
+    public Mono<ResponseEntity<Object>> findAll(Integer from, Integer size) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "size", size
+        );
+        return get("?from={from}&size={size}", 0L, parameters);
+    }
+}
@@ -3,29 +3,32 @@ package ru.practicum.shareit.user.client;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
+import ru.practicum.shareit.client.ResponseCache;
 import ru.practicum.shareit.client.RestTemplateFactory;
 import ru.practicum.shareit.user.dto.UserRequest;
 
 import java.util.Map;
 
 @Component
+@ConditionalOnBlockingClient
 public class UserClient extends BaseClient {
     private static final String API_PREFIX = "/users";
 
-    public UserClient(RestTemplateFactory restTemplateFactory) {
-        super(restTemplateFactory.getRestTemplate(API_PREFIX));
+    public UserClient(RestTemplateFactory restTemplateFactory, ResponseCache responseCache) {
+        super(restTemplateFactory.getRestTemplate(API_PREFIX), restTemplateFactory.isPassThrough(), responseCache);
     }
 
-    public ResponseEntity<Object> getUser(Long userId) {
-        return get("/" + userId);
+    public ResponseEntity<Object> getUser(Long userId, String ifNoneMatch) {
+        return getCached("/" + userId, null, ifNoneMatch);
     }
 
     public ResponseEntity<Object> createUser(UserRequest userRequest) {
         return post("", userRequest);
     }
 
-    public ResponseEntity<Object> updateUser(Long userId, UserRequest userRequest) {
-        return patch("/" + userId, userRequest);
+    public ResponseEntity<Object> updateUser(Long userId, UserRequest userRequest, String ifMatch) {
+        return patchIfMatch("/" + userId, null, userRequest, ifMatch);
     }
 
     public ResponseEntity<Object> deleteUser(Long userId) {
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.user.controller;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ConditionalOnReactiveClient;
+import ru.practicum.shareit.user.client.ReactiveUserClient;
+import ru.practicum.shareit.user.dto.UserRequest;
+
+import javax.validation.Valid;
+
+@Controller
+@RequestMapping(path = "/users")
+@RequiredArgsConstructor
+@Slf4j
+@Validated
+@ConditionalOnReactiveClient
+public class ReactiveUserController {
+
+    private final ReactiveUserClient userClient;
+
+    @GetMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> getUserById(@PathVariable Long userId,
+                                                    @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                    String ifNoneMatch) {
+        return userClient.getUser(userId, ifNoneMatch);
+    }
+
+    @PostMapping
+    public Mono<ResponseEntity<Object>> createUser(@RequestBody @Valid UserRequest userRequest) {
+        return userClient.createUser(userRequest);
+    }
+
+    @PatchMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> updateUser(@PathVariable Long userId,
+                                                   @RequestBody UserRequest userRequest,
+                                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                                   String ifMatch) {
+        return userClient.updateUser(userId, userRequest, ifMatch);
+    }
+
+    @DeleteMapping("/{userId}")
+    public Mono<ResponseEntity<Object>> deleteUserById(@PathVariable Long userId) {
+        return userClient.deleteUser(userId);
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<Object>> getAllUsers(@RequestParam(defaultValue = "0") Integer from,
+                                                    @RequestParam(defaultValue = "10") Integer size) {
+        return userClient.findAll(from, size);
+    }
+}
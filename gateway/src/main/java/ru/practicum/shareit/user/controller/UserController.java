@@ -2,10 +2,12 @@ package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.client.ConditionalOnBlockingClient;
 import ru.practicum.shareit.user.client.UserClient;
 import ru.practicum.shareit.user.dto.UserRequest;
 
@@ -16,13 +18,16 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 @Slf4j
 @Validated
+@ConditionalOnBlockingClient
 public class UserController {
 
     private final UserClient userClient;
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> getUserById(@PathVariable Long userId) {
-        return userClient.getUser(userId);
+    public ResponseEntity<Object> getUserById(@PathVariable Long userId,
+                                              @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false)
+                                              String ifNoneMatch) {
+        return userClient.getUser(userId, ifNoneMatch);
     }
 
     @PostMapping
@@ -32,8 +37,10 @@ public class UserController {
 
     @PatchMapping("/{userId}")
     public ResponseEntity<Object> updateUser(@PathVariable Long userId,
-                                             @RequestBody UserRequest userRequest) {
-        return userClient.updateUser(userId, userRequest);
+                                             @RequestBody UserRequest userRequest,
+                                             @RequestHeader(value = HttpHeaders.IF_MATCH, required = false)
+                                             String ifMatch) {
+        return userClient.updateUser(userId, userRequest, ifMatch);
     }
 
     @DeleteMapping("/{userId}")
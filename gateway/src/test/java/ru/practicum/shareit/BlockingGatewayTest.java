@@ -0,0 +1,117 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.client.WebClientFactory;
+import ru.practicum.shareit.user.controller.ReactiveUserController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class BlockingGatewayTest {
+
+    private static final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getPort());
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void testOnlyBlockingBeansAreCreated() {
+        assertTrue(context.getBeansOfType(ReactiveUserController.class).isEmpty());
+        assertTrue(context.getBeansOfType(WebClientFactory.class).isEmpty());
+    }
+
+    @Test
+    void testResponseIsReturnedWithoutAsyncDispatch() throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .setBody("[]"));
+
+        mockMvc.perform(get("/users"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isOk())
+                .andExpect(content().string("[]"));
+
+        assertEquals("/users?from=0&size=10", server.takeRequest(1, TimeUnit.SECONDS).getPath());
+    }
+
+    @Test
+    void testServerResponseIsPassedThroughByteForByte() throws Exception {
+        byte[] body = "{ \"error\":\"Вещь с id 1 недоступна\",\n  \"id\" : 1.50 }".getBytes(StandardCharsets.UTF_8);
+        server.enqueue(new MockResponse()
+                .setResponseCode(400)
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8")
+                .setHeader("X-Trace-Id", "abc")
+                .setHeader("Keep-Alive", "timeout=5")
+                .setBody(new Buffer().write(body)));
+
+        mockMvc.perform(post("/bookings")
+                        .header("X-Sharer-User-Id", 2)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"itemId\":1,\"start\":\"2100-01-01T00:00:00\",\"end\":\"2100-01-02T00:00:00\"}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest())
+                .andExpect(header().string(HttpHeaders.CONTENT_TYPE, "application/json;charset=UTF-8"))
+                .andExpect(header().string("X-Trace-Id", "abc"))
+                .andExpect(header().doesNotExist("Keep-Alive"))
+                .andExpect(content().bytes(body));
+
+        RecordedRequest recorded = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("POST", recorded.getMethod());
+        assertEquals("2", recorded.getHeader("X-Sharer-User-Id"));
+    }
+
+    @Test
+    void testClientsShareOnePooledConnection() throws Exception {
+        server.enqueue(new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, "application/json").setBody("[]"));
+        server.enqueue(new MockResponse().setHeader(HttpHeaders.CONTENT_TYPE, "application/json").setBody("[]"));
+
+        mockMvc.perform(get("/users")).andExpect(status().isOk());
+        mockMvc.perform(get("/items").header("X-Sharer-User-Id", 1)).andExpect(status().isOk());
+
+        RecordedRequest first = server.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest second = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/items?from=0&size=10", second.getPath());
+        assertEquals(first.getSequenceNumber() + 1, second.getSequenceNumber());
+        assertTrue(meterRegistry.get("shareit.gateway.http.pool.connections")
+                .tag("state", "available").gauge().value() >= 1);
+    }
+}
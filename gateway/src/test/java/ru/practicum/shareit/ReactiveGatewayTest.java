@@ -0,0 +1,78 @@
+package ru.practicum.shareit;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.client.RestTemplateFactory;
+import ru.practicum.shareit.user.controller.UserController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "shareit-server.reactive=true")
+@AutoConfigureMockMvc
+class ReactiveGatewayTest {
+
+    private static final MockWebServer server = new MockWebServer();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @DynamicPropertySource
+    static void serverUrl(DynamicPropertyRegistry registry) {
+        registry.add("shareit-server.url", () -> "http://localhost:" + server.getPort());
+    }
+
+    @AfterAll
+    static void shutdown() throws IOException {
+        server.shutdown();
+    }
+
+    @Test
+    void testOnlyReactiveBeansAreCreated() {
+        assertTrue(context.getBeansOfType(UserController.class).isEmpty());
+        assertTrue(context.getBeansOfType(RestTemplateFactory.class).isEmpty());
+    }
+
+    @Test
+    void testResponseIsPassedThroughAsync() throws Exception {
+        String body = "{\"error\" : \"BOOKING с id 1 не существует\"}";
+        server.enqueue(new MockResponse()
+                .setResponseCode(404)
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .setHeader("X-Trace-Id", "abc")
+                .setBody(body));
+
+        MvcResult result = mockMvc.perform(get("/bookings/1").header("X-Sharer-User-Id", 2))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound())
+                .andExpect(header().string("X-Trace-Id", "abc"))
+                .andExpect(content().bytes(body.getBytes(StandardCharsets.UTF_8)));
+
+        RecordedRequest recorded = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("/bookings/1", recorded.getPath());
+        assertEquals("2", recorded.getHeader("X-Sharer-User-Id"));
+    }
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.client;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Условный PATCH: If-Match клиента доходит до сервера, 412 сервера возвращается клиенту без изменений.
+ */
+class PatchIfMatchTest {
+
+    private static final String ETAG = "\"user-1-abc\"";
+    private static final String BODY = "{\"error\":\"Ресурс \\\"user-1-abc\\\" изменён\"}";
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "pass-through", "reactive"})
+    void testIfMatchIsForwardedAndPreconditionFailedPassedThrough(String mode) throws Exception {
+        server.enqueue(new MockResponse()
+                .setResponseCode(412)
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .setBody(BODY));
+
+        ResponseEntity<Object> response = patchIfMatch(mode, ETAG);
+
+        RecordedRequest recorded = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("PATCH", recorded.getMethod());
+        assertEquals("/users/1", recorded.getPath());
+        assertEquals(ETAG, recorded.getHeader(HttpHeaders.IF_MATCH));
+        assertEquals("{\"name\":\"update\"}", recorded.getBody().readUtf8());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+        assertEquals(BODY, bodyAsString(response));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"blocking", "pass-through", "reactive"})
+    void testPatchWithoutIfMatchSendsNoHeader(String mode) throws Exception {
+        server.enqueue(new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .setBody("{\"id\":1,\"name\":\"update\"}"));
+
+        ResponseEntity<Object> response = patchIfMatch(mode, null);
+
+        assertNull(server.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_MATCH));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+    }
+
+    private ResponseEntity<Object> patchIfMatch(String mode, String ifMatch) {
+        String serverUrl = server.url("/users").toString();
+        Map<String, String> body = Map.of("name", "update");
+        if (mode.equals("reactive")) {
+            return new ReactiveBaseClient(WebClient.create(serverUrl), "/users", null)
+                    .patchIfMatch("/1", null, body, ifMatch).block();
+        }
+        return new BaseClient(new RestTemplateBuilder()
+                .rootUri(serverUrl)
+                .requestFactory(HttpComponentsClientHttpRequestFactory.class)
+                .build(), mode.equals("pass-through"), null)
+                .patchIfMatch("/1", null, body, ifMatch);
+    }
+
+    private static String bodyAsString(ResponseEntity<Object> response) throws IOException {
+        Object body = response.getBody();
+        if (body instanceof byte[]) {
+            return new String((byte[]) body, StandardCharsets.UTF_8);
+        }
+        if (body instanceof InputStreamResource) {
+            try (InputStream stream = ((InputStreamResource) body).getInputStream()) {
+                return StreamUtils.copyToString(stream, StandardCharsets.UTF_8);
+            }
+        }
+        return String.valueOf(body);
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Перепроверка кеша ответов через If-None-Match в блокирующем и реактивном клиентах.
+ */
+class ResponseCacheTest {
+
+    private static final String ETAG = "\"item-1-abc\"";
+    private static final byte[] BODY = "{\"id\":1,\"name\":\"Дрель\"}".getBytes(StandardCharsets.UTF_8);
+
+    private MockWebServer server;
+    private ResponseCache responseCache;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+        responseCache = new ResponseCache(10, 1024, new SimpleMeterRegistry());
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testNotModifiedIsServedFromCache(boolean reactive) throws Exception {
+        server.enqueue(ok());
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader(HttpHeaders.ETAG, ETAG));
+
+        ResponseEntity<Object> first = getCached(reactive, 1L, null);
+        ResponseEntity<Object> second = getCached(reactive, 1L, null);
+
+        assertNull(server.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(ETAG, server.takeRequest(1, TimeUnit.SECONDS).getHeader(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertArrayEquals(BODY, (byte[]) second.getBody());
+        assertEquals(ETAG, second.getHeaders().getETag());
+        assertEquals(1, responseCache.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testClientIfNoneMatchGetsNotModified(boolean reactive) throws Exception {
+        server.enqueue(ok());
+        server.enqueue(new MockResponse().setResponseCode(304).setHeader(HttpHeaders.ETAG, ETAG));
+
+        getCached(reactive, 1L, null);
+        ResponseEntity<Object> response = getCached(reactive, 1L, "W/" + ETAG);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertNull(response.getBody());
+        assertEquals(ETAG, response.getHeaders().getETag());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testViewersAreCachedSeparately(boolean reactive) throws Exception {
+        server.enqueue(ok());
+        server.enqueue(ok());
+
+        getCached(reactive, 1L, null);
+        ResponseEntity<Object> response = getCached(reactive, 2L, null);
+
+        server.takeRequest(1, TimeUnit.SECONDS);
+        RecordedRequest recorded = server.takeRequest(1, TimeUnit.SECONDS);
+        assertEquals("2", recorded.getHeader("X-Sharer-User-Id"));
+        assertNull(recorded.getHeader(HttpHeaders.IF_NONE_MATCH));
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(2, responseCache.size());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void testResponseWithoutEtagIsNotCached(boolean reactive) throws Exception {
+        server.enqueue(new MockResponse().setResponseCode(404).setBody("{\"error\":\"нет\"}"));
+
+        ResponseEntity<Object> response = getCached(reactive, 1L, null);
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(0, responseCache.size());
+    }
+
+    private ResponseEntity<Object> getCached(boolean reactive, Long userId, String ifNoneMatch) {
+        String serverUrl = server.url("/items").toString();
+        if (reactive) {
+            return new ReactiveBaseClient(WebClient.create(serverUrl), "/items", responseCache)
+                    .getCached("/1", userId, ifNoneMatch).block();
+        }
+        return new BaseClient(new RestTemplateBuilder().rootUri(serverUrl).build(), true, responseCache)
+                .getCached("/1", userId, ifNoneMatch);
+    }
+
+    private static MockResponse ok() {
+        return new MockResponse()
+                .setHeader(HttpHeaders.CONTENT_TYPE, "application/json")
+                .setHeader(HttpHeaders.ETAG, ETAG)
+                .setHeader(HttpHeaders.VARY, "X-Sharer-User-Id")
+                .setBody(new Buffer().write(BODY));
+    }
+}
@@ -0,0 +1,65 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Недоступный shareit-server: блокирующий и реактивный клиенты отвечают одинаково.
+ */
+class ServerUnavailableTest {
+
+    private static String serverUrl;
+
+    @BeforeAll
+    static void closedPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            serverUrl = "http://localhost:" + socket.getLocalPort() + "/users";
+        }
+    }
+
+    @Test
+    void testGetMapsConnectionErrorsTheSameWay() {
+        ResponseEntity<Object> blocking = blockingClient(false, null).get("/1", 1L);
+        ResponseEntity<Object> passThrough = blockingClient(true, null).get("/1", 1L);
+        ResponseEntity<Object> reactive = reactiveClient(null).get("/1", 1L).block();
+
+        assertEquals(HttpStatus.BAD_GATEWAY, blocking.getStatusCode());
+        assertSameResponse(blocking, passThrough);
+        assertSameResponse(blocking, reactive);
+    }
+
+    @Test
+    void testCachedGetMapsConnectionErrorsTheSameWay() {
+        ResponseCache responseCache = new ResponseCache(10, 1024, new SimpleMeterRegistry());
+
+        ResponseEntity<Object> blocking = blockingClient(true, responseCache).getCached("/1", 1L, null);
+        ResponseEntity<Object> reactive = reactiveClient(responseCache).getCached("/1", 1L, null).block();
+
+        assertEquals(HttpStatus.BAD_GATEWAY, blocking.getStatusCode());
+        assertSameResponse(blocking, reactive);
+        assertEquals(0, responseCache.size());
+    }
+
+    private static BaseClient blockingClient(boolean passThrough, ResponseCache responseCache) {
+        return new BaseClient(new RestTemplateBuilder().rootUri(serverUrl).build(), passThrough, responseCache);
+    }
+
+    private static ReactiveBaseClient reactiveClient(ResponseCache responseCache) {
+        return new ReactiveBaseClient(WebClient.create(serverUrl), "/users", responseCache);
+    }
+
+    private static void assertSameResponse(ResponseEntity<Object> expected, ResponseEntity<Object> actual) {
+        assertEquals(expected.getStatusCode(), actual.getStatusCode());
+        assertEquals(expected.getBody(), actual.getBody());
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Фоновые задачи (relay outbox, пересчёт сводок бронирований, очистка индекса занятости).
+ * В тестах отключаются через shareit.scheduling.enabled=false и вызываются напрямую.
+ */
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "shareit.scheduling.enabled", matchIfMissing = true)
+public class SchedulingConfiguration {
+}
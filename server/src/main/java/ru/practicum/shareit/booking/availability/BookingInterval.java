@@ -0,0 +1,19 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingInterval {
+    Long bookingId;
+    Long itemId;
+    Long ownerId;
+    Long bookerId;
+    LocalDateTime start;
+    LocalDateTime end;
+
+    public boolean overlaps(LocalDateTime otherStart, LocalDateTime otherEnd) {
+        return start.isBefore(otherEnd) && otherStart.isBefore(end);
+    }
+}
@@ -0,0 +1,172 @@
+package ru.practicum.shareit.booking.availability;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Индекс занятости Item: по дереву интервалов на каждую вещь из бронирований
+ * в статусах WAITING и APPROVED. Позволяет отклонить пересекающееся бронирование
+ * без обращения к базе; бронирование без пересечений в индексе всё равно проверяется
+ * BookingRepository.existsOverlapping. Завершившиеся интервалы периодически удаляются.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BookingIntervalIndex {
+
+    public static final List<Status> ACTIVE_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private static final int REBUILD_BATCH = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final Clock clock;
+
+    private final Map<Long, ItemIntervals> items = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        log.info("Построение индекса занятости Item");
+        ready = false;
+        items.clear();
+        var now = LocalDateTime.now(clock);
+        var pageable = PageRequest.of(0, REBUILD_BATCH);
+        List<BookingInterval> batch;
+        int count = 0;
+        do {
+            batch = bookingRepository.findActiveIntervals(ACTIVE_STATUSES, now, pageable);
+            batch.forEach(this::put);
+            count += batch.size();
+            pageable = pageable.next();
+        } while (batch.size() == REBUILD_BATCH);
+        ready = true;
+        log.info("Индекс занятости Item построен, бронирований: {}", count);
+    }
+
+    public boolean overlaps(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (!ready) {
+            return false;
+        }
+        var intervals = items.get(itemId);
+        return intervals != null && intervals.overlaps(start, end);
+    }
+
+    public void add(BookingInterval interval) {
+        afterCommit(() -> put(interval));
+    }
+
+    public void remove(Long itemId, Long bookingId) {
+        afterCommit(() -> {
+            var intervals = items.get(itemId);
+            if (intervals != null) {
+                intervals.remove(bookingId);
+            }
+        });
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        items.values().removeIf(intervals -> intervals.ownerId.equals(event.getUserId()));
+        items.values().forEach(intervals -> intervals.removeByBooker(event.getUserId()));
+    }
+
+    /**
+     * Удаляет интервалы, закончившиеся к текущему моменту: с новыми бронированиями они уже не пересекаются.
+     */
+    @Scheduled(fixedDelayString = "${shareit.booking-index.prune-interval:PT10M}",
+            initialDelayString = "${shareit.booking-index.prune-interval:PT10M}")
+    public void prune() {
+        var now = LocalDateTime.now(clock);
+        items.keySet().forEach(itemId -> items.computeIfPresent(itemId,
+                (id, intervals) -> intervals.prune(now) ? null : intervals));
+    }
+
+    private void put(BookingInterval interval) {
+        items.compute(interval.getItemId(), (id, intervals) -> {
+            var target = intervals == null ? new ItemIntervals(interval.getOwnerId()) : intervals;
+            target.put(interval);
+            return target;
+        });
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class ItemIntervals {
+        private final Long ownerId;
+        private final IntervalTree tree = new IntervalTree();
+        private final Map<Long, BookingInterval> byBooking = new HashMap<>();
+
+        private ItemIntervals(Long ownerId) {
+            this.ownerId = ownerId;
+        }
+
+        private synchronized boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return tree.overlaps(start, end);
+        }
+
+        private synchronized void put(BookingInterval interval) {
+            var previous = byBooking.put(interval.getBookingId(), interval);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+            tree.insert(interval);
+        }
+
+        private synchronized void remove(Long bookingId) {
+            var previous = byBooking.remove(bookingId);
+            if (previous != null) {
+                tree.remove(previous);
+            }
+        }
+
+        private synchronized boolean prune(LocalDateTime now) {
+            byBooking.values().removeIf(interval -> {
+                if (!interval.getEnd().isAfter(now)) {
+                    tree.remove(interval);
+                    return true;
+                }
+                return false;
+            });
+            return byBooking.isEmpty();
+        }
+
+        private synchronized void removeByBooker(Long bookerId) {
+            byBooking.values().removeIf(interval -> {
+                if (interval.getBookerId().equals(bookerId)) {
+                    tree.remove(interval);
+                    return true;
+                }
+                return false;
+            });
+        }
+    }
+}
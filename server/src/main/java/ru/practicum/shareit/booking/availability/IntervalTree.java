@@ -0,0 +1,120 @@
+package ru.practicum.shareit.booking.availability;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Декартово дерево интервалов бронирования [start, end), упорядоченных по началу.
+ * Каждый узел хранит максимальный конец в своём поддереве, поэтому поиск пересечения
+ * спускается по одной ветке и занимает O(log n). Не потокобезопасно.
+ */
+class IntervalTree {
+    private static final Comparator<BookingInterval> ORDER = Comparator
+            .comparing(BookingInterval::getStart)
+            .thenComparing(BookingInterval::getBookingId);
+
+    private Node root;
+    private int size;
+
+    void insert(BookingInterval interval) {
+        Node[] parts = split(root, interval);
+        root = merge(merge(parts[0], new Node(interval)), parts[1]);
+        size++;
+    }
+
+    boolean remove(BookingInterval interval) {
+        int before = size;
+        root = remove(root, interval);
+        return size < before;
+    }
+
+    boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        Node node = root;
+        while (node != null) {
+            if (node.interval.overlaps(start, end)) {
+                return true;
+            }
+            node = node.left != null && node.left.maxEnd.isAfter(start) ? node.left : node.right;
+        }
+        return false;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node remove(Node node, BookingInterval interval) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = ORDER.compare(interval, node.interval);
+        if (cmp == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (cmp < 0) {
+            node.left = remove(node.left, interval);
+        } else {
+            node.right = remove(node.right, interval);
+        }
+        node.update();
+        return node;
+    }
+
+    private static Node[] split(Node node, BookingInterval key) {
+        if (node == null) {
+            return new Node[]{null, null};
+        }
+        if (ORDER.compare(node.interval, key) < 0) {
+            Node[] parts = split(node.right, key);
+            node.right = parts[0];
+            node.update();
+            return new Node[]{node, parts[1]};
+        }
+        Node[] parts = split(node.left, key);
+        node.left = parts[1];
+        node.update();
+        return new Node[]{parts[0], node};
+    }
+
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static final class Node {
+        private final BookingInterval interval;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private LocalDateTime maxEnd;
+        private Node left;
+        private Node right;
+
+        private Node(BookingInterval interval) {
+            this.interval = interval;
+            this.maxEnd = interval.getEnd();
+        }
+
+        private void update() {
+            maxEnd = interval.getEnd();
+            if (left != null && left.maxEnd.isAfter(maxEnd)) {
+                maxEnd = left.maxEnd;
+            }
+            if (right != null && right.maxEnd.isAfter(maxEnd)) {
+                maxEnd = right.maxEnd;
+            }
+        }
+    }
+}
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.format.annotation.DateTimeFormat.ISO;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusResponse;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -39,21 +44,34 @@ public class BookingController {
         return bookingService.updateBookingStatus(userId, bookingId, approved);
     }
 
+    @PatchMapping
+    public List<BookingStatusResponse> updateBookingStatuses(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                             @RequestBody List<BookingStatusRequest> requests)
+            throws NotFoundException {
+        return bookingService.updateBookingStatuses(userId, requests);
+    }
+
     @GetMapping
     private List<BookingResponse> getAllUserBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                      @RequestParam(defaultValue = "ALL") String state,
                                                      @RequestParam(defaultValue = "0") Integer from,
-                                                     @RequestParam(defaultValue = "10") Integer size)
+                                                     @RequestParam(defaultValue = "10") Integer size,
+                                                     @RequestParam(required = false)
+                                                     @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                     @RequestParam(required = false) Long afterId)
             throws NotFoundException, ItemException, StateException {
-        return bookingService.getAllUserBookings(userId, state, from, size);
+        return bookingService.getAllUserBookings(userId, state, from, size, afterStart, afterId);
     }
 
     @GetMapping("/owner")
     private List<BookingResponse> getAllOwnerBookings(@RequestHeader("X-Sharer-User-Id") Long userId,
                                                       @RequestParam(defaultValue = "ALL") String state,
                                                       @RequestParam(defaultValue = "0") Integer from,
-                                                      @RequestParam(defaultValue = "10") Integer size)
+                                                      @RequestParam(defaultValue = "10") Integer size,
+                                                      @RequestParam(required = false)
+                                                      @DateTimeFormat(iso = ISO.DATE_TIME) LocalDateTime afterStart,
+                                                      @RequestParam(required = false) Long afterId)
             throws NotFoundException, ItemException, StateException {
-        return bookingService.getAllOwnerBookings(userId, state, from, size);
+        return bookingService.getAllOwnerBookings(userId, state, from, size, afterStart, afterId);
     }
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Value;
+import ru.practicum.shareit.booking.util.Status;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция бронирования для списков: только столбцы, нужные BookingResponse, без загрузки сущностей.
+ */
+@Value
+public class BookingView {
+    Long id;
+    LocalDateTime startDate;
+    LocalDateTime endDate;
+    Status status;
+    Long bookerId;
+    Long itemId;
+    String itemName;
+}
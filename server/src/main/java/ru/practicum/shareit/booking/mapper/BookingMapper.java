@@ -4,9 +4,11 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.util.Status;
 import ru.practicum.shareit.item.dto.ItemBookingResponse;
+import ru.practicum.shareit.item.model.BookingRef;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
@@ -21,9 +23,17 @@ public interface BookingMapper {
             expression = "java(ru.practicum.shareit.booking.util.Status.valueOf(booking.getStatus().name()))")
     BookingResponse toDto(Booking booking);
 
+    @Mapping(target = "booker.userId", source = "bookerId")
+    @Mapping(target = "item.bookingItemId", source = "itemId")
+    @Mapping(target = "item.name", source = "itemName")
+    BookingResponse toDto(BookingView bookingView);
+
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Booking fromDto(BookingRequest bookingRequest, User booker, Item item, Status status);
 
     @Mapping(target = "bookerId", expression = "java(booking.getBooker().getId())")
     ItemBookingResponse toDtoItemBooking(Booking booking);
+
+    ItemBookingResponse toDtoItemBooking(BookingRef bookingRef);
 }
@@ -17,9 +17,13 @@ import java.time.LocalDateTime;
 @Builder
 @FieldDefaults(level = AccessLevel.PRIVATE)
 @Table(name = "bookings")
+@NamedEntityGraph(name = Booking.WITH_ITEM, attributeNodes = @NamedAttributeNode("item"))
 public class Booking {
+    public static final String WITH_ITEM = "Booking.withItem";
+
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "bookings_seq")
+    @SequenceGenerator(name = "bookings_seq", sequenceName = "bookings_seq", allocationSize = 50)
     Long id;
     @Column(name = "start_date")
     LocalDateTime startDate;
@@ -34,4 +38,7 @@ public class Booking {
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "item_id")
     Item item;
+    @Version
+    @Column(name = "version", nullable = false)
+    Long version;
 }
@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "booking_events")
+public class BookingEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_events_seq")
+    @SequenceGenerator(name = "booking_events_seq", sequenceName = "booking_events_seq", allocationSize = 50)
+    Long id;
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    BookingEventType type;
+    @Column(name = "booking_id", nullable = false)
+    Long bookingId;
+    @Column(name = "item_id", nullable = false)
+    Long itemId;
+    @Column(name = "owner_id", nullable = false)
+    Long ownerId;
+    @Column(name = "booker_id", nullable = false)
+    Long bookerId;
+    @Column(name = "start_date")
+    LocalDateTime startDate;
+    @Column(name = "end_date")
+    LocalDateTime endDate;
+    @Column(name = "created", nullable = false)
+    LocalDateTime created;
+    @Column(name = "published")
+    LocalDateTime published;
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.stream.Collectors;
+
+/**
+ * Периодически забирает неопубликованные события из outbox пачками и передаёт их в BookingEventSink.
+ * Строки выбираются с FOR UPDATE SKIP LOCKED: несколько экземпляров сервера не отправят одну пачку дважды
+ * и не ждут друг друга, а забирают разные пачки.
+ * Доставка «как минимум один раз»: при ошибке получателя пачка остаётся неопубликованной.
+ */
+@Component
+@Slf4j
+public class BookingEventRelay {
+
+    private final BookingEventRepository bookingEventRepository;
+    private final BookingEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration retention;
+
+    public BookingEventRelay(BookingEventRepository bookingEventRepository,
+                             BookingEventSink sink,
+                             TransactionTemplate transactionTemplate,
+                             Clock clock,
+                             @Value("${shareit.outbox.batch-size:100}") int batchSize,
+                             @Value("${shareit.outbox.retention:P7D}") Duration retention) {
+        this.bookingEventRepository = bookingEventRepository;
+        this.sink = sink;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.relay-interval:PT5S}",
+            initialDelayString = "${shareit.outbox.relay-interval:PT5S}")
+    public void relay() {
+        try {
+            Integer published;
+            do {
+                published = transactionTemplate.execute(status -> relayBatch());
+            } while (published != null && published == batchSize);
+        } catch (RuntimeException e) {
+            log.warn("Не удалось опубликовать события бронирований: {}", e.getMessage());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.outbox.purge-interval:PT1H}",
+            initialDelayString = "${shareit.outbox.purge-interval:PT1H}")
+    public void purge() {
+        var deleted = transactionTemplate.execute(status ->
+                bookingEventRepository.deletePublishedBefore(LocalDateTime.now(clock).minus(retention)));
+        log.info("Удалено опубликованных событий бронирований: {}", deleted);
+    }
+
+    private int relayBatch() {
+        var events = bookingEventRepository.findUnpublished(batchSize);
+        if (events.isEmpty()) {
+            return 0;
+        }
+        sink.publish(events);
+        bookingEventRepository.markPublished(events.stream()
+                .map(BookingEvent::getId)
+                .collect(Collectors.toList()), LocalDateTime.now(clock));
+        log.debug("Опубликовано событий бронирований: {}", events.size());
+        return events.size();
+    }
+}
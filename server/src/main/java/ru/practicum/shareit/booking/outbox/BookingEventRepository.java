@@ -0,0 +1,26 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface BookingEventRepository extends JpaRepository<BookingEvent, Long> {
+
+    @Query(value = "SELECT * FROM booking_events WHERE published IS NULL ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<BookingEvent> findUnpublished(int limit);
+
+    @Modifying
+    @Query(value = "UPDATE BookingEvent e SET e.published = :published WHERE e.id IN :eventIds")
+    int markPublished(Collection<Long> eventIds, LocalDateTime published);
+
+    @Modifying
+    @Query(value = "DELETE FROM BookingEvent e WHERE e.published < :before")
+    int deletePublishedBefore(LocalDateTime before);
+}
@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.outbox;
+
+import java.util.List;
+
+/**
+ * Получатель событий бронирований из outbox. Пачка считается доставленной,
+ * если publish завершился без исключения; иначе она будет отправлена повторно.
+ */
+public interface BookingEventSink {
+    void publish(List<BookingEvent> events);
+}
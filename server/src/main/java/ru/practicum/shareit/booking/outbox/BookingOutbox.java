@@ -0,0 +1,50 @@
+package ru.practicum.shareit.booking.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * Записывает события бронирований в таблицу booking_events в транзакции вызывающего сервиса.
+ * Доставку получателям выполняет BookingEventRelay.
+ */
+@Component
+@RequiredArgsConstructor
+public class BookingOutbox {
+
+    private final BookingEventRepository bookingEventRepository;
+    private final Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(BookingEventType type, BookingInterval booking) {
+        bookingEventRepository.save(toEvent(type, booking, LocalDateTime.now(clock)));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(BookingEventType type, Collection<BookingInterval> bookings) {
+        var now = LocalDateTime.now(clock);
+        bookingEventRepository.saveAll(bookings.stream()
+                .map(booking -> toEvent(type, booking, now))
+                .collect(Collectors.toList()));
+    }
+
+    private static BookingEvent toEvent(BookingEventType type, BookingInterval booking, LocalDateTime now) {
+        return BookingEvent.builder()
+                .type(type)
+                .bookingId(booking.getBookingId())
+                .itemId(booking.getItemId())
+                .ownerId(booking.getOwnerId())
+                .bookerId(booking.getBookerId())
+                .startDate(booking.getStart())
+                .endDate(booking.getEnd())
+                .created(now)
+                .build();
+    }
+}
@@ -0,0 +1,45 @@
+package ru.practicum.shareit.booking.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Дописывает события в файл по одному JSON-объекту на строку.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "file")
+public class FileBookingEventSink implements BookingEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileBookingEventSink(ObjectMapper objectMapper,
+                                @Value("${shareit.outbox.file:booking-events.ndjson}") Path file) {
+        this.objectMapper = objectMapper;
+        this.file = file;
+    }
+
+    @Override
+    public synchronized void publish(List<BookingEvent> events) {
+        var lines = new StringBuilder();
+        try {
+            for (var event : events) {
+                lines.append(objectMapper.writeValueAsString(event)).append('\n');
+            }
+            Files.writeString(file, lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Заменитель брокера сообщений для тестов и локального запуска: хранит события в очереди в памяти.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "memory")
+public class InMemoryBookingEventSink implements BookingEventSink {
+
+    private final BlockingQueue<BookingEvent> queue = new LinkedBlockingQueue<>();
+
+    @Override
+    public void publish(List<BookingEvent> events) {
+        queue.addAll(events);
+    }
+
+    public List<BookingEvent> drain() {
+        List<BookingEvent> events = new ArrayList<>();
+        queue.drainTo(events);
+        return events;
+    }
+}
@@ -0,0 +1,30 @@
+package ru.practicum.shareit.booking.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@ConditionalOnProperty(name = "shareit.outbox.sink", havingValue = "log", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j(topic = "shareit.booking.events")
+public class LoggingBookingEventSink implements BookingEventSink {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public void publish(List<BookingEvent> events) {
+        for (var event : events) {
+            try {
+                log.info(objectMapper.writeValueAsString(event));
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -1,17 +1,46 @@
 package ru.practicum.shareit.booking.repository;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
-import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.booking.availability.BookingInterval;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.util.Status;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, JpaSpecificationExecutor<Booking>,
+        BookingRepositoryCustom {
+
+    @EntityGraph(Booking.WITH_ITEM)
+    Optional<Booking> findWithItemById(Long bookingId);
+
+    @EntityGraph(Booking.WITH_ITEM)
+    List<Booking> findAllByIdInAndItemUserId(Collection<Long> bookingIds, Long ownerId);
+
+    @Query(value = "SELECT new ru.practicum.shareit.booking.availability.BookingInterval(" +
+            "b.id, b.item.id, b.item.user.id, b.booker.id, b.startDate, b.endDate) " +
+            "FROM Booking b WHERE b.status IN :statuses AND b.endDate > :now ORDER BY b.id")
+    List<BookingInterval> findActiveIntervals(Collection<Status> statuses, LocalDateTime now, Pageable pageable);
+
+    @Query(value = "SELECT CASE WHEN COUNT(b) > 0 THEN true ELSE false END FROM Booking b " +
+            "WHERE b.item.id = :itemId AND b.status IN :statuses AND b.startDate < :end AND b.endDate > :start")
+    boolean existsOverlapping(Long itemId, LocalDateTime start, LocalDateTime end, Collection<Status> statuses);
+
+    @Query(value = "SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.startDate = (SELECT MAX(l.startDate) FROM Booking l " +
+            "WHERE l.item = b.item AND l.status = :status AND l.startDate < :now)")
+    List<Booking> findLastBookings(Collection<Long> itemIds, Status status, LocalDateTime now);
 
-    @Modifying
-    @Query(value = "UPDATE Booking b SET b.status = :status WHERE b.id = :bookingId")
-    void updateBookingStatus(Long bookingId, Status status);
+    @Query(value = "SELECT b FROM Booking b WHERE b.item.id IN :itemIds AND b.status = :status " +
+            "AND b.startDate = (SELECT MIN(n.startDate) FROM Booking n " +
+            "WHERE n.item = b.item AND n.status = :status AND n.startDate > :now)")
+    List<Booking> findNextBookings(Collection<Long> itemIds, Status status, LocalDateTime now);
 }
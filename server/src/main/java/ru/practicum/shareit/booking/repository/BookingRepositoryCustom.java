@@ -0,0 +1,16 @@
+package ru.practicum.shareit.booking.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingRepositoryCustom {
+    /**
+     * Страница бронирований без дополнительного count-запроса, который делает findAll(spec, pageable).
+     * Выбирает только столбцы BookingView без загрузки Booking, User и Item.
+     */
+    List<BookingView> findViews(Specification<Booking> spec, Pageable pageable);
+}
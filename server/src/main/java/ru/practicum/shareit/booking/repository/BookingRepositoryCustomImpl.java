@@ -0,0 +1,41 @@
+package ru.practicum.shareit.booking.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import ru.practicum.shareit.booking.dto.BookingView;
+import ru.practicum.shareit.booking.model.Booking;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingRepositoryCustomImpl implements BookingRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<BookingView> findViews(Specification<Booking> spec, Pageable pageable) {
+        var cb = entityManager.getCriteriaBuilder();
+        var query = cb.createQuery(BookingView.class);
+        var root = query.from(Booking.class);
+        var item = root.get("item");
+        query.select(cb.construct(BookingView.class,
+                        root.get("id"),
+                        root.get("startDate"),
+                        root.get("endDate"),
+                        root.get("status"),
+                        root.get("booker").get("id"),
+                        item.get("id"),
+                        item.get("name")))
+                .where(spec.toPredicate(root, query, cb));
+        if (pageable.getSort().isSorted()) {
+            query.orderBy(QueryUtils.toOrders(pageable.getSort(), root, cb));
+        }
+        return entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+    }
+}
@@ -3,10 +3,10 @@ package ru.practicum.shareit.booking.repository;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Component;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingCursor;
 import ru.practicum.shareit.booking.util.Status;
 
 import java.time.LocalDateTime;
-import java.util.List;
 
 
 @Component
@@ -19,10 +19,10 @@ public class BookingSpecification {
         };
     }
 
-    public static Specification<Booking> byItemIds(List<Long> itemIds) {
+    public static Specification<Booking> byOwnerId(Long ownerId) {
         return (root, query, cb) -> {
             query.orderBy(cb.desc(root.get("startDate")));
-            return root.get("item").in(itemIds);
+            return cb.equal(root.get("item").get("user").get("id"), ownerId);
         };
     }
 
@@ -33,27 +33,33 @@ public class BookingSpecification {
         };
     }
 
-    public static Specification<Booking> orderByAsc() {
-        return (root, query, cb) -> {
-            query.orderBy(cb.asc(root.get("startDate")));
-            return cb.conjunction();
-        };
+    public static Specification<Booking> startDateIsAfter(LocalDateTime now) {
+        return (root, query, cb) -> cb.greaterThan(root.get("startDate"), now);
     }
 
-    public static Specification<Booking> startDateIsAfter() {
-        return (root, query, cb) -> cb.greaterThan(root.get("startDate"), LocalDateTime.now());
+    public static Specification<Booking> endDateIsBefore(LocalDateTime now) {
+        return (root, query, cb) -> cb.lessThan(root.get("endDate"), now);
     }
 
-    public static Specification<Booking> endDateIsBefore() {
-        return (root, query, cb) -> cb.lessThan(root.get("endDate"), LocalDateTime.now());
+    public static Specification<Booking> startDateIsBefore(LocalDateTime now) {
+        return (root, query, cb) -> cb.lessThan(root.get("startDate"), now);
     }
 
-    public static Specification<Booking> startDateIsBefore() {
-        return (root, query, cb) -> cb.lessThan(root.get("startDate"), LocalDateTime.now());
+    public static Specification<Booking> endDateIsAfter(LocalDateTime now) {
+        return (root, query, cb) -> cb.greaterThan(root.get("endDate"), now);
     }
 
-    public static Specification<Booking> endDateIsAfter() {
-        return (root, query, cb) -> cb.greaterThan(root.get("endDate"), LocalDateTime.now());
+    public static Specification<Booking> afterCursor(BookingCursor cursor) {
+        return (root, query, cb) -> {
+            if (cursor == null) {
+                return cb.conjunction();
+            }
+            return cb.or(
+                    cb.lessThan(root.get("startDate"), cursor.getStartDate()),
+                    cb.and(
+                            cb.equal(root.get("startDate"), cursor.getStartDate()),
+                            cb.lessThan(root.get("id"), cursor.getId())));
+        };
     }
 
     public static Specification<Booking> byStatus(Status status) {
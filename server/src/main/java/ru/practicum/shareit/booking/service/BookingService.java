@@ -2,10 +2,13 @@ package ru.practicum.shareit.booking.service;
 
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusResponse;
 import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface BookingService {
@@ -16,9 +19,14 @@ public interface BookingService {
     BookingResponse updateBookingStatus(Long userId, Long bookingId, Boolean approved)
             throws NotFoundException, ItemException, StateException;
 
-    List<BookingResponse> getAllUserBookings(Long userId, String state, Integer from, Integer size)
+    List<BookingStatusResponse> updateBookingStatuses(Long userId, List<BookingStatusRequest> requests)
+            throws NotFoundException;
+
+    List<BookingResponse> getAllUserBookings(Long userId, String state, Integer from, Integer size,
+                                             LocalDateTime afterStart, Long afterId)
             throws NotFoundException, ItemException, StateException;
 
-    List<BookingResponse> getAllOwnerBookings(Long userId, String state, Integer from, Integer size)
+    List<BookingResponse> getAllOwnerBookings(Long userId, String state, Integer from, Integer size,
+                                              LocalDateTime afterStart, Long afterId)
             throws NotFoundException, ItemException, StateException;
 }
@@ -7,11 +7,19 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.outbox.BookingEventType;
+import ru.practicum.shareit.booking.outbox.BookingOutbox;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.BookingCursor;
 import ru.practicum.shareit.booking.util.State;
 import ru.practicum.shareit.booking.util.StateFactory;
 import ru.practicum.shareit.booking.util.StateStrategy;
@@ -20,11 +28,18 @@ import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.exception.util.Constants;
-import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
+import ru.practicum.shareit.user.service.UserLookupService;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 
@@ -33,36 +48,51 @@ import java.util.stream.Collectors;
 @Slf4j
 public class BookingServiceImpl implements BookingService {
 
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "startDate", "id");
+
     private final BookingRepository bookingRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final ItemRepository itemRepository;
     private final StateFactory stateFactory;
     private final BookingMapper bookingMapper;
+    private final BookingIntervalIndex bookingIntervalIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final BookingOutbox bookingOutbox;
 
     @Override
+    @Transactional
     public BookingResponse addBooking(BookingRequest bookingRequest, Long bookerId)
             throws NotFoundException, ItemException {
         log.info("Бронирование Item с id {} от USER c id {}",
                 bookingRequest.getItemId(), bookerId);
-        if (notExists(bookerId)) {
-            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, bookerId));
-        }
-        var item = getItem(bookingRequest.getItemId());
+        var booker = userLookupService.findById(bookerId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, bookerId)));
+        var itemId = bookingRequest.getItemId();
+        var item = itemRepository.findByIdForUpdate(itemId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, itemId)));
         if (!item.getIsAvailable()) {
-            throw new ItemException(String.format("Item с id %s недоступен.", bookingRequest.getItemId()));
+            throw new ItemException(String.format("Item с id %s недоступен.", itemId));
         }
         if (bookerId.equals(item.getUser().getId())) {
             throw new NotFoundException("Нельзя взять в аренду свою вещь.");
         }
-        var booker = userRepository.findById(bookerId).get();
+        var start = bookingRequest.getStartDate();
+        var end = bookingRequest.getEndDate();
+        if (isBooked(itemId, start, end)) {
+            throw new ItemException(String.format(Constants.ITEM_ALREADY_BOOKED, itemId));
+        }
         var booking = bookingRepository.saveAndFlush(bookingMapper.fromDto(bookingRequest, booker, item, Status.WAITING));
+        var interval = new BookingInterval(booking.getId(), itemId, item.getUser().getId(), bookerId,
+                booking.getStartDate(), booking.getEndDate());
+        bookingIntervalIndex.add(interval);
+        bookingOutbox.append(BookingEventType.CREATED, interval);
         return bookingMapper.toDto(booking);
     }
 
     @Override
     public BookingResponse getBooking(Long userId, Long bookingId) throws NotFoundException {
         log.info("Просмотр бронирования с id {} от USER c id {}", bookingId, userId);
-        var booking = bookingRepository.findById(bookingId).orElseThrow(
+        var booking = bookingRepository.findWithItemById(bookingId).orElseThrow(
                 () -> new NotFoundException(String.format(Constants.BOOKING_NOT_FOUND, bookingId)));
         var itemUserId = booking.getItem().getUser().getId();
         if (!booking.getBooker().getId().equals(userId) && !itemUserId.equals(userId)) {
@@ -74,29 +104,98 @@ public class BookingServiceImpl implements BookingService {
     @Override
     @Transactional
     public BookingResponse updateBookingStatus(Long userId, Long bookingId, Boolean approved)
-            throws NotFoundException, StateException {
+            throws NotFoundException, ItemException, StateException {
         log.info("USER c id {} обновляет броинирование с id {} со статусом {}",
                 userId, bookingId, approved);
-        var booking = getBooking(userId, bookingId);
-        var item = getItem(booking.getItem().getBookingItemId());
+        var booking = bookingRepository.findWithItemById(bookingId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.BOOKING_NOT_FOUND, bookingId)));
+        var item = booking.getItem();
         if (!item.getUser().getId().equals(userId)) {
             throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
         }
         if (booking.getStatus().equals(Status.APPROVED)) {
             throw new StateException("Статус уже изменен на " + Status.APPROVED.name());
         }
+        if (approved && booking.getStatus().equals(Status.REJECTED)) {
+            itemRepository.findByIdForUpdate(item.getId()).orElseThrow(
+                    () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, item.getId())));
+            if (isBooked(item.getId(), booking.getStartDate(), booking.getEndDate())) {
+                throw new ItemException(String.format(Constants.ITEM_ALREADY_BOOKED, item.getId()));
+            }
+        }
+        var interval = new BookingInterval(bookingId, item.getId(), userId,
+                booking.getBooker().getId(), booking.getStartDate(), booking.getEndDate());
+        booking.setStatus(approved ? Status.APPROVED : Status.REJECTED);
+        bookingRepository.flush();
         if (approved) {
-            bookingRepository.updateBookingStatus(bookingId, Status.APPROVED);
-            booking.setStatus(Status.APPROVED);
+            bookingIntervalIndex.add(interval);
+            itemBookingSummaryService.refresh(List.of(item.getId()));
+            bookingOutbox.append(BookingEventType.APPROVED, interval);
         } else {
-            bookingRepository.updateBookingStatus(bookingId, Status.REJECTED);
-            booking.setStatus(Status.REJECTED);
+            bookingIntervalIndex.remove(item.getId(), bookingId);
+            bookingOutbox.append(BookingEventType.REJECTED, interval);
+        }
+        return bookingMapper.toDto(booking);
+    }
+
+    @Override
+    @Transactional
+    public List<BookingStatusResponse> updateBookingStatuses(Long userId, List<BookingStatusRequest> requests)
+            throws NotFoundException {
+        log.info("USER c id {} обновляет статусы {} бронирований", userId, requests.size());
+        if (notExists(userId)) {
+            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
+        }
+        var bookingIds = requests.stream()
+                .map(BookingStatusRequest::getBookingId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Booking> ownerBookings = bookingIds.isEmpty() ? Map.of()
+                : bookingRepository.findAllByIdInAndItemUserId(bookingIds, userId).stream()
+                .collect(Collectors.toMap(Booking::getId, Function.identity()));
+        lockReapprovedItems(requests, ownerBookings);
+
+        Set<Long> seen = new HashSet<>();
+        List<BookingInterval> approved = new ArrayList<>();
+        List<BookingInterval> rejected = new ArrayList<>();
+        List<BookingStatusResponse> results = new ArrayList<>(requests.size());
+        for (var request : requests) {
+            var bookingId = request.getBookingId();
+            var booking = ownerBookings.get(bookingId);
+            var error = getStatusError(request, booking, seen.add(bookingId));
+            if (error != null) {
+                results.add(new BookingStatusResponse(bookingId, null, error));
+                continue;
+            }
+            var interval = new BookingInterval(bookingId, booking.getItem().getId(), userId,
+                    booking.getBooker().getId(), booking.getStartDate(), booking.getEndDate());
+            booking.setStatus(request.getApproved() ? Status.APPROVED : Status.REJECTED);
+            if (request.getApproved()) {
+                approved.add(interval);
+                bookingIntervalIndex.add(interval);
+                results.add(new BookingStatusResponse(bookingId, Status.APPROVED, null));
+            } else {
+                rejected.add(interval);
+                bookingIntervalIndex.remove(interval.getItemId(), bookingId);
+                results.add(new BookingStatusResponse(bookingId, Status.REJECTED, null));
+            }
+        }
+        bookingRepository.flush();
+        if (!approved.isEmpty()) {
+            itemBookingSummaryService.refresh(approved.stream()
+                    .map(BookingInterval::getItemId)
+                    .collect(Collectors.toSet()));
+            bookingOutbox.appendAll(BookingEventType.APPROVED, approved);
+        }
+        if (!rejected.isEmpty()) {
+            bookingOutbox.appendAll(BookingEventType.REJECTED, rejected);
         }
-        return booking;
+        return results;
     }
 
     @Override
-    public List<BookingResponse> getAllUserBookings(Long userId, String state, Integer from, Integer size)
+    public List<BookingResponse> getAllUserBookings(Long userId, String state, Integer from, Integer size,
+                                                    LocalDateTime afterStart, Long afterId)
             throws NotFoundException, StateException {
         log.info("Просмотр всех бронирований USER c id {}, с параметром {}",
                 userId, state);
@@ -105,11 +204,12 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
         }
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "id");
-        List<Booking> bookings;
+        var cursor = getCursor(afterStart, afterId);
+        Pageable pageable = PageRequest.of(cursor == null ? page : 0, size, BOOKING_ORDER);
+        List<BookingView> bookings;
         try {
             StateStrategy strategy = stateFactory.findStrategy(State.valueOf(state));
-            bookings = strategy.findBookings(userId, pageable);
+            bookings = strategy.findBookings(userId, cursor, pageable);
         } catch (IllegalArgumentException e) {
             throw new StateException("Unknown state: " + state);
         }
@@ -117,7 +217,8 @@ public class BookingServiceImpl implements BookingService {
     }
 
     @Override
-    public List<BookingResponse> getAllOwnerBookings(Long userId, String state, Integer from, Integer size)
+    public List<BookingResponse> getAllOwnerBookings(Long userId, String state, Integer from, Integer size,
+                                                     LocalDateTime afterStart, Long afterId)
             throws NotFoundException, StateException {
         log.info("Просмотр всех бронирований USER c id {}, с параметром {}",
                 userId, state);
@@ -126,30 +227,80 @@ public class BookingServiceImpl implements BookingService {
             throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
         }
         int page = from / size;
-        Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "id");
-        var itemIds = itemRepository.findAllByUserId(userId).stream()
-                .map(Item::getId)
-                .collect(Collectors.toList());
-        List<Booking> bookings;
+        var cursor = getCursor(afterStart, afterId);
+        Pageable pageable = PageRequest.of(cursor == null ? page : 0, size, BOOKING_ORDER);
+        List<BookingView> bookings;
         try {
             StateStrategy strategy = stateFactory.findStrategy(State.valueOf(state));
-            bookings = strategy.findBookingsByItemIds(itemIds, pageable);
+            bookings = strategy.findBookingsByOwnerId(userId, cursor, pageable);
         } catch (IllegalArgumentException e) {
             throw new StateException("Unknown state: " + state);
         }
         return getBookingResponses(bookings);
     }
 
-    private List<BookingResponse> getBookingResponses(List<Booking> bookings) {
-        return bookings.stream().map(bookingMapper::toDto).collect(Collectors.toList());
+    private BookingCursor getCursor(LocalDateTime afterStart, Long afterId) throws StateException {
+        if (afterStart == null && afterId == null) {
+            return null;
+        }
+        if (afterStart == null || afterId == null) {
+            throw new StateException("Курсор задаётся парой параметров afterStart и afterId");
+        }
+        return new BookingCursor(afterStart, afterId);
     }
 
-    private boolean notExists(Long userId) {
-        return userRepository.findById(userId).isEmpty();
+    private String getStatusError(BookingStatusRequest request, Booking booking, boolean firstOccurrence) {
+        if (request.getBookingId() == null || request.getApproved() == null) {
+            return "Не заданы id бронирования или решение";
+        }
+        if (!firstOccurrence) {
+            return String.format("BOOKING с id %s указан повторно", request.getBookingId());
+        }
+        if (booking == null) {
+            return String.format(Constants.BOOKING_NOT_FOUND, request.getBookingId());
+        }
+        if (booking.getStatus().equals(Status.APPROVED)) {
+            return "Статус уже изменен на " + Status.APPROVED.name();
+        }
+        var itemId = booking.getItem().getId();
+        if (request.getApproved() && booking.getStatus().equals(Status.REJECTED)
+                && isBooked(itemId, booking.getStartDate(), booking.getEndDate())) {
+            return String.format(Constants.ITEM_ALREADY_BOOKED, itemId);
+        }
+        return null;
     }
 
-    private Item getItem(Long itemId) throws NotFoundException {
-        return itemRepository.findById(itemId).orElseThrow(
-                () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, itemId)));
+    /**
+     * Блокирует Item, бронирования которых снова одобряются после отказа, как addBooking:
+     * параллельное бронирование того же Item не пройдёт проверку пересечений до коммита.
+     */
+    private void lockReapprovedItems(List<BookingStatusRequest> requests, Map<Long, Booking> ownerBookings) {
+        var itemIds = requests.stream()
+                .filter(request -> request.getBookingId() != null && Boolean.TRUE.equals(request.getApproved()))
+                .map(request -> ownerBookings.get(request.getBookingId()))
+                .filter(booking -> booking != null && booking.getStatus().equals(Status.REJECTED))
+                .map(booking -> booking.getItem().getId())
+                .collect(Collectors.toSet());
+        if (!itemIds.isEmpty()) {
+            itemRepository.findAllByIdInForUpdate(itemIds);
+        }
+    }
+
+    /**
+     * Индекс только быстро отклоняет пересечения: в нём нет завершившихся интервалов и бронирований,
+     * созданных другими экземплярами сервера, поэтому без пересечения в индексе проверяет база.
+     * Вызывается под блокировкой Item.
+     */
+    private boolean isBooked(Long itemId, LocalDateTime start, LocalDateTime end) {
+        return bookingIntervalIndex.overlaps(itemId, start, end)
+                || bookingRepository.existsOverlapping(itemId, start, end, BookingIntervalIndex.ACTIVE_STATUSES);
+    }
+
+    private List<BookingResponse> getBookingResponses(List<BookingView> bookings) {
+        return bookings.stream().map(bookingMapper::toDto).collect(Collectors.toList());
+    }
+
+    private boolean notExists(Long userId) {
+        return userLookupService.findById(userId).isEmpty();
     }
 }
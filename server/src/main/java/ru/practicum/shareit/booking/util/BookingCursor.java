@@ -0,0 +1,11 @@
+package ru.practicum.shareit.booking.util;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+@Value
+public class BookingCursor {
+    LocalDateTime startDate;
+    Long id;
+}
@@ -3,14 +3,13 @@ package ru.practicum.shareit.booking.util;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.exception.model.StateException;
 
 import java.util.List;
 
-import static ru.practicum.shareit.booking.repository.BookingSpecification.byBookerId;
-import static ru.practicum.shareit.booking.repository.BookingSpecification.byItemIds;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.*;
 
 @Component
 @RequiredArgsConstructor
@@ -19,13 +18,16 @@ public class StateAll implements StateStrategy {
     private final BookingRepository bookingRepository;
 
     @Override
-    public List<Booking> findBookings(Long bookerId, Pageable pageable) throws StateException {
-        return bookingRepository.findAll(byBookerId(bookerId), pageable).getContent();
+    public List<BookingView> findBookings(Long bookerId, BookingCursor cursor, Pageable pageable) throws StateException {
+        return bookingRepository.findViews(byBookerId(bookerId)
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
-    public List<Booking> findBookingsByItemIds(List<Long> itemIds, Pageable pageable) throws StateException {
-        return bookingRepository.findAll(byItemIds(itemIds), pageable).getContent();
+    public List<BookingView> findBookingsByOwnerId(Long ownerId, BookingCursor cursor, Pageable pageable)
+            throws StateException {
+        return bookingRepository.findViews(byOwnerId(ownerId)
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
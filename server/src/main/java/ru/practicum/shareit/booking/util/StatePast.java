@@ -3,9 +3,11 @@ package ru.practicum.shareit.booking.util;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static ru.practicum.shareit.booking.repository.BookingSpecification.*;
@@ -15,15 +17,22 @@ import static ru.practicum.shareit.booking.repository.BookingSpecification.*;
 public class StatePast implements StateStrategy {
 
     private final BookingRepository bookingRepository;
+    private final Clock clock;
 
     @Override
-    public List<Booking> findBookings(Long bookerId, Pageable pageable) {
-        return bookingRepository.findAll(byBookerId(bookerId).and(endDateIsBefore()));
+    public List<BookingView> findBookings(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        var now = LocalDateTime.now(clock);
+        return bookingRepository.findViews(byBookerId(bookerId)
+                .and(endDateIsBefore(now))
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
-    public List<Booking> findBookingsByItemIds(List<Long> itemIds, Pageable pageable) {
-        return bookingRepository.findAll(byItemIds(itemIds).and(endDateIsBefore()));
+    public List<BookingView> findBookingsByOwnerId(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        var now = LocalDateTime.now(clock);
+        return bookingRepository.findViews(byOwnerId(ownerId)
+                .and(endDateIsBefore(now))
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
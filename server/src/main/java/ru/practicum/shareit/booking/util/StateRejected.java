@@ -3,7 +3,7 @@ package ru.practicum.shareit.booking.util;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
-import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 
 import java.util.List;
@@ -17,13 +17,17 @@ public class StateRejected implements StateStrategy {
     private final BookingRepository bookingRepository;
 
     @Override
-    public List<Booking> findBookings(Long bookerId, Pageable pageable) {
-        return bookingRepository.findAll(byBookerId(bookerId).and(byStatus(Status.REJECTED)));
+    public List<BookingView> findBookings(Long bookerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findViews(byBookerId(bookerId)
+                .and(byStatus(Status.REJECTED))
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
-    public List<Booking> findBookingsByItemIds(List<Long> itemIds, Pageable pageable) {
-        return bookingRepository.findAll(byItemIds(itemIds).and(byStatus(Status.REJECTED)));
+    public List<BookingView> findBookingsByOwnerId(Long ownerId, BookingCursor cursor, Pageable pageable) {
+        return bookingRepository.findViews(byOwnerId(ownerId)
+                .and(byStatus(Status.REJECTED))
+                .and(afterCursor(cursor)), pageable);
     }
 
     @Override
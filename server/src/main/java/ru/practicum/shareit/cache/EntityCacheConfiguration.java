@@ -0,0 +1,87 @@
+package ru.practicum.shareit.cache;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Кэш второго уровня Hibernate в памяти процесса (Caffeine через JCache) для User, Item и ItemRequest
+ * и кэш запросов. Размер и время жизни задаются для каждого региона свойствами
+ * shareit.entity-cache.{user,item,request,query}.max-size и .ttl, статистика регионов
+ * публикуется в Micrometer как hibernate.second.level.cache.* и hibernate.cache.query.*.
+ */
+@Configuration
+public class EntityCacheConfiguration {
+
+    private static final String PREFIX = "shareit.entity-cache.";
+    private static final long DEFAULT_MAX_SIZE = 10_000;
+    private static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    /**
+     * Свой CacheManager на каждый контекст: провайдер JCache общий для JVM, а id сущностей
+     * разных баз (например, тестовых контекстов) не должны попадать в одни регионы.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(Environment environment) {
+        var cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("shareit-entity-cache-" + UUID.randomUUID()), getClass().getClassLoader());
+        Map.of(User.class.getName(), "user",
+                Item.class.getName(), "item",
+                ItemRequest.class.getName(), "request",
+                RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, "query")
+                .forEach((region, key) -> cacheManager.createCache(region, bounded(
+                        environment.getProperty(PREFIX + key + ".max-size", Long.class, DEFAULT_MAX_SIZE),
+                        environment.getProperty(PREFIX + key + ".ttl", Duration.class, DEFAULT_TTL))));
+        // Метки последних изменений таблиц не вытесняются: иначе кэш запросов отдавал бы устаревшие результаты
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, byReference());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheCustomizer(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, ConfigSettings.SIMPLE_FACTORY_NAME);
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, Duration ttl) {
+        var configuration = byReference();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+
+    /**
+     * Hibernate кладёт в регионы уже разобранное состояние сущностей,
+     * копирование при каждом обращении (store-by-value по умолчанию в JCache) не нужно.
+     */
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        var configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
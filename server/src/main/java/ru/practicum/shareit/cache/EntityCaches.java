@@ -0,0 +1,26 @@
+package ru.practicum.shareit.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import javax.persistence.EntityManagerFactory;
+
+/**
+ * Сброс кэша второго уровня для изменений, о которых Hibernate не знает:
+ * удаление User каскадно удаляет его Item и запросы на стороне базы (ON DELETE CASCADE).
+ * Регионы сбрасываются после коммита, чтобы параллельное чтение не вернуло в кэш удаляемые строки.
+ */
+@Component
+@RequiredArgsConstructor
+public class EntityCaches {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        entityManagerFactory.getCache().unwrap(Cache.class).evictAllRegions();
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.etag;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
+
+import java.util.Arrays;
+
+/**
+ * ETag ответов GET /users/{id}, /items/{id} и /requests/{id}, построенные из @Version сущностей.
+ * Версия увеличивается в той же транзакции, что и изменение, поэтому тег одинаков на всех
+ * экземплярах сервера и не меняется при перезапуске. Тег вычисляется до чтения тела:
+ * при гонке с записью клиент получит более новое тело со старым тегом и перечитает его, но не устаревший 304.
+ */
+public final class ETags {
+
+    public static final String VARY_HEADER = "X-Sharer-User-Id";
+
+    @FunctionalInterface
+    public interface Reader<T, E extends Exception> {
+        T read() throws E;
+    }
+
+    private ETags() {
+    }
+
+    public static String of(String resource, Long id, long... versions) {
+        long hash = 0;
+        for (long version : versions) {
+            hash = (hash + version + 1) * 0x9E3779B97F4A7C15L;
+        }
+        return "\"" + resource + "-" + id + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    /**
+     * Отвечает 304 без вызова reader, если If-None-Match совпадает с etag.
+     */
+    public static <T, E extends Exception> ResponseEntity<T> conditionalGet(WebRequest request, String etag,
+                                                                            Reader<T, E> reader) throws E {
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag, true)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).varyBy(VARY_HEADER).build();
+        }
+        return ResponseEntity.ok().eTag(etag).varyBy(VARY_HEADER).body(reader.read());
+    }
+
+    /**
+     * Проверяет If-Match изменяющего запроса по тегу сущности, загруженной в транзакции:
+     * изменения, закоммиченные после её чтения, отклонит проверка @Version при записи.
+     */
+    public static void checkIfMatch(String ifMatch, String etag) throws PreconditionFailedException {
+        if (ifMatch != null && !ifMatch.trim().equals("*") && !matches(ifMatch, etag, false)) {
+            throw new PreconditionFailedException(String.format(
+                    "Ресурс %s изменён: If-Match не совпадает с текущим ETag", etag));
+        }
+    }
+
+    /**
+     * If-None-Match сравнивается слабо (W/ отбрасывается), If-Match — строго.
+     */
+    private static boolean matches(String header, String etag, boolean weak) {
+        return header != null && Arrays.stream(header.split(","))
+                .map(String::trim)
+                .map(tag -> weak && tag.startsWith("W/") ? tag.substring(2) : tag)
+                .anyMatch(etag::equals);
+    }
+}
@@ -1,6 +1,9 @@
 package ru.practicum.shareit.exception.controller;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
@@ -8,35 +11,64 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.exception.model.*;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class ExceptionApiHandler {
+    public static final String ERROR_COUNTER = "shareit.api.errors";
+
+    private final MeterRegistry meterRegistry;
 
     @ExceptionHandler(ItemException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorMessage itemException(ItemException e) {
+        countError(e, HttpStatus.BAD_REQUEST);
         return new ErrorMessage(e.getMessage());
     }
 
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public ErrorMessage notFoundException(NotFoundException e) {
+        countError(e, HttpStatus.NOT_FOUND);
         return new ErrorMessage(e.getMessage());
     }
 
     @ExceptionHandler(AccessDeniedException.class)
     @ResponseStatus(HttpStatus.FORBIDDEN)
     public ErrorMessage accessDeniedException(AccessDeniedException e) {
+        countError(e, HttpStatus.FORBIDDEN);
         return new ErrorMessage(e.getMessage());
     }
 
     @ExceptionHandler(MethodArgumentNotValidException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorMessage validationException(MethodArgumentNotValidException e) {
+        countError(e, HttpStatus.BAD_REQUEST);
         return new ErrorMessage(e.getMessage());
     }
 
     @ExceptionHandler(StateException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorMessage stateException(StateException e) {
+        countError(e, HttpStatus.BAD_REQUEST);
+        return new ErrorMessage(e.getMessage());
+    }
+
+    @ExceptionHandler(PreconditionFailedException.class)
+    @ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+    public ErrorMessage preconditionFailedException(PreconditionFailedException e) {
+        countError(e, HttpStatus.PRECONDITION_FAILED);
         return new ErrorMessage(e.getMessage());
     }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorMessage optimisticLockingException(ObjectOptimisticLockingFailureException e) {
+        countError(e, HttpStatus.CONFLICT);
+        return new ErrorMessage("Данные изменены параллельным запросом, повторите операцию");
+    }
+
+    private void countError(Exception e, HttpStatus status) {
+        meterRegistry.counter(ERROR_COUNTER,
+                "exception", e.getClass().getSimpleName(),
+                "status", String.valueOf(status.value())).increment();
+    }
 }
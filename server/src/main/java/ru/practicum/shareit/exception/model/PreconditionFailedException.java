@@ -0,0 +1,7 @@
+package ru.practicum.shareit.exception.model;
+
+public class PreconditionFailedException extends Exception {
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -4,4 +4,5 @@ public class Constants {
     public static final String USER_NOT_FOUND = "USER с id %s не существует";
     public static final String ITEM_NOT_FOUND = "ITEM с id %s не существует";
     public static final String BOOKING_NOT_FOUND = "BOOKING с id %s не существует";
+    public static final String ITEM_ALREADY_BOOKED = "ITEM с id %s уже забронирован на это время";
 }
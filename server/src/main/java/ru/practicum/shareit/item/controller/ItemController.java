@@ -1,10 +1,15 @@
 package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.AccessDeniedException;
 import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemCreate;
@@ -29,14 +34,18 @@ public class ItemController {
     @PatchMapping("/{itemId}")
     public ItemResponse updateItem(@RequestBody ItemCreate itemCreate,
                                    @RequestHeader("X-Sharer-User-Id") Long userId,
-                                   @PathVariable Long itemId) throws AccessDeniedException, NotFoundException {
-        return itemService.updateItem(itemCreate, userId, itemId);
+                                   @PathVariable Long itemId,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws AccessDeniedException, NotFoundException, PreconditionFailedException {
+        return itemService.updateItem(itemCreate, userId, itemId, ifMatch);
     }
 
     @GetMapping("/{itemId}")
-    public ItemResponse getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
-                                @PathVariable Long itemId) throws NotFoundException {
-        return itemService.getItem(userId, itemId);
+    public ResponseEntity<ItemResponse> getItem(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                @PathVariable Long itemId,
+                                                WebRequest request) throws NotFoundException {
+        return ETags.conditionalGet(request, itemService.getItemTag(userId, itemId),
+                () -> itemService.getItem(userId, itemId));
     }
 
     @GetMapping
@@ -49,8 +58,8 @@ public class ItemController {
     @GetMapping("/search")
     public List<ItemResponse> searchItems(@RequestParam String text,
                                           @RequestHeader("X-Sharer-User-Id") Long userId,
-                                          @RequestParam(required = false) Integer from,
-                                          @RequestParam(required = false) Integer size) throws NotFoundException {
+                                          @RequestParam(defaultValue = "0") Integer from,
+                                          @RequestParam(defaultValue = "10") Integer size) throws NotFoundException {
         return itemService.searchItems(text, userId, from, size);
     }
 
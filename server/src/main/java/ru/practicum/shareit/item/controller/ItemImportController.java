@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.controller;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.importing.ItemImportJobService;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.net.URI;
+
+@RestController
+@RequestMapping("/items/import")
+@RequiredArgsConstructor
+public class ItemImportController {
+
+    private final ItemImportJobService itemImportJobService;
+
+    @PostMapping(consumes = {"application/x-ndjson", "text/csv"})
+    public ResponseEntity<ItemImportStatus> importItems(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                                        @RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                        HttpServletRequest request)
+            throws NotFoundException, IOException {
+        var status = itemImportJobService.start(userId, contentType, request.getInputStream());
+        return ResponseEntity.accepted()
+                .location(URI.create("/items/import/" + status.getId()))
+                .body(status);
+    }
+
+    @GetMapping("/{importId}")
+    public ItemImportStatus getImportStatus(@RequestHeader("X-Sharer-User-Id") Long userId,
+                                            @PathVariable String importId) throws NotFoundException {
+        return itemImportJobService.getStatus(userId, importId);
+    }
+}
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Проекция Comment вместе с id вещи и именем автора, без загрузки сущностей.
+ */
+@Value
+public class CommentView {
+    Long id;
+    Long itemId;
+    String text;
+    String authorName;
+    LocalDateTime created;
+}
@@ -5,11 +5,19 @@ import lombok.AccessLevel;
 import lombok.Data;
 import lombok.experimental.FieldDefaults;
 
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
 @Data
 @FieldDefaults(level = AccessLevel.PRIVATE)
 public class ItemCreate {
+    @NotNull
+    @NotEmpty
     String name;
+    @NotNull
+    @NotEmpty
     String description;
+    @NotNull
     @JsonProperty("available")
     Boolean isAvailable;
     Long requestId;
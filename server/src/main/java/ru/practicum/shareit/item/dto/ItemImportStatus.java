@@ -0,0 +1,25 @@
+package ru.practicum.shareit.item.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AccessLevel;
+import lombok.Data;
+import lombok.experimental.FieldDefaults;
+import ru.practicum.shareit.item.importing.ItemImportState;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ItemImportStatus {
+    String id;
+    ItemImportState state;
+    Long processed;
+    Long imported;
+    Long rejected;
+    List<ItemImportError> errors;
+    String error;
+    LocalDateTime started;
+    LocalDateTime finished;
+}
@@ -0,0 +1,16 @@
+package ru.practicum.shareit.item.dto;
+
+import lombok.Value;
+
+/**
+ * Проекция Item для списков: только столбцы, нужные ItemResponse, без загрузки сущностей.
+ */
+@Value
+public class ItemView {
+    Long id;
+    String name;
+    String description;
+    Boolean isAvailable;
+    Long userId;
+    Long requestId;
+}
@@ -0,0 +1,24 @@
+package ru.practicum.shareit.item.importing;
+
+import org.springframework.http.MediaType;
+
+public enum ItemImportFormat {
+    NDJSON("application/x-ndjson"),
+    CSV("text/csv");
+
+    private final MediaType mediaType;
+
+    ItemImportFormat(String mediaType) {
+        this.mediaType = MediaType.parseMediaType(mediaType);
+    }
+
+    public static ItemImportFormat of(String contentType) {
+        var mediaType = MediaType.parseMediaType(contentType);
+        for (var format : values()) {
+            if (format.mediaType.isCompatibleWith(mediaType)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException("Неподдерживаемый формат импорта: " + contentType);
+    }
+}
@@ -0,0 +1,78 @@
+package ru.practicum.shareit.item.importing;
+
+import ru.practicum.shareit.item.dto.ItemImportError;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Состояние одного импорта. Изменяется только потоком импорта, читается запросами статуса.
+ */
+class ItemImportJob {
+
+    static final int MAX_ERRORS = 100;
+
+    final String id;
+    final Long userId;
+    final ItemImportFormat format;
+    final LocalDateTime started = LocalDateTime.now();
+
+    private final List<ItemImportError> errors = new ArrayList<>();
+    private volatile ItemImportState state = ItemImportState.RUNNING;
+    private volatile long processed;
+    private volatile long imported;
+    private volatile long rejected;
+    private volatile String error;
+    private volatile LocalDateTime finished;
+
+    ItemImportJob(String id, Long userId, ItemImportFormat format) {
+        this.id = id;
+        this.userId = userId;
+        this.format = format;
+    }
+
+    void processed() {
+        processed++;
+    }
+
+    void imported(int count) {
+        imported += count;
+    }
+
+    synchronized void reject(long line, String message) {
+        rejected++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new ItemImportError(line, message));
+        }
+    }
+
+    void complete() {
+        finish(ItemImportState.COMPLETED, null);
+    }
+
+    void fail(String message) {
+        finish(ItemImportState.FAILED, message);
+    }
+
+    private void finish(ItemImportState state, String message) {
+        this.error = message;
+        this.finished = LocalDateTime.now();
+        this.state = state;
+    }
+
+    synchronized ItemImportStatus toStatus() {
+        var status = new ItemImportStatus();
+        status.setId(id);
+        status.setState(state);
+        status.setProcessed(processed);
+        status.setImported(imported);
+        status.setRejected(rejected);
+        status.setErrors(List.copyOf(errors));
+        status.setError(error);
+        status.setStarted(started);
+        status.setFinished(finished);
+        return status;
+    }
+}
@@ -0,0 +1,176 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.util.Constants;
+import ru.practicum.shareit.item.dto.ItemCreate;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.service.ItemImportService;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
+
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Потоковый импорт Item из NDJSON и CSV. Тело запроса сохраняется во временный файл, после чего
+ * файл читается по одной записи в фоне: каждая запись проверяется теми же правилами, что и ItemCreate
+ * в gateway, корректные записи сохраняются через ItemImportService пачками по chunk-size в отдельных транзакциях.
+ * Ход импорта доступен через getStatus в течение status-ttl после запуска.
+ */
+@Service
+@Slf4j
+public class ItemImportJobService {
+
+    private final ItemImportService itemImportService;
+    private final ItemRequestRepository itemRequestRepository;
+    private final UserLookupService userLookupService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final AsyncTaskExecutor taskExecutor;
+    private final int chunkSize;
+    private final Cache<String, ItemImportJob> jobs;
+
+    public ItemImportJobService(ItemImportService itemImportService,
+                                ItemRequestRepository itemRequestRepository,
+                                UserLookupService userLookupService,
+                                Validator validator,
+                                ObjectMapper objectMapper,
+                                @Qualifier(TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+                                AsyncTaskExecutor taskExecutor,
+                                @Value("${shareit.import.chunk-size:1000}") int chunkSize,
+                                @Value("${shareit.import.status-ttl:1h}") Duration statusTtl) {
+        this.itemImportService = itemImportService;
+        this.itemRequestRepository = itemRequestRepository;
+        this.userLookupService = userLookupService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.taskExecutor = taskExecutor;
+        this.chunkSize = chunkSize;
+        this.jobs = Caffeine.newBuilder()
+                .expireAfterWrite(statusTtl)
+                .build();
+    }
+
+    public ItemImportStatus start(Long userId, String contentType, InputStream body)
+            throws NotFoundException, IOException {
+        if (userLookupService.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
+        }
+        var format = ItemImportFormat.of(contentType);
+        var file = Files.createTempFile("shareit-import-", "." + format.name().toLowerCase());
+        try {
+            Files.copy(body, file, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        var job = new ItemImportJob(UUID.randomUUID().toString(), userId, format);
+        jobs.put(job.id, job);
+        log.info("Запущен импорт {} с id: {} от USER с id: {}, размер {} байт",
+                format, job.id, userId, Files.size(file));
+        taskExecutor.execute(() -> run(job, file));
+        return job.toStatus();
+    }
+
+    public ItemImportStatus getStatus(Long userId, String importId) throws NotFoundException {
+        var job = jobs.getIfPresent(importId);
+        if (job == null || !job.userId.equals(userId)) {
+            throw new NotFoundException(String.format("IMPORT с id %s не существует", importId));
+        }
+        return job.toStatus();
+    }
+
+    private void run(ItemImportJob job, Path file) {
+        var knownRequests = new HashMap<Long, Boolean>();
+        List<ItemRecord> chunk = new ArrayList<>(chunkSize);
+        try (var reader = ItemRecordReader.open(job.format, file, objectMapper)) {
+            ItemRecord record;
+            while ((record = reader.next()) != null) {
+                job.processed();
+                var error = record.getError() != null ? record.getError() : validate(record.getItem());
+                if (error != null) {
+                    job.reject(record.getLine(), error);
+                    continue;
+                }
+                chunk.add(record);
+                if (chunk.size() == chunkSize) {
+                    flush(job, chunk, knownRequests);
+                }
+            }
+            flush(job, chunk, knownRequests);
+            job.complete();
+            log.info("Импорт с id: {} завершён, {}", job.id, job.toStatus());
+        } catch (Exception e) {
+            job.fail(e.getMessage());
+            log.warn("Импорт с id: {} прерван", job.id, e);
+        } finally {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException e) {
+                log.warn("Не удалось удалить файл импорта {}", file, e);
+            }
+        }
+    }
+
+    private String validate(ItemCreate itemCreate) {
+        var violations = validator.validate(itemCreate);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .sorted()
+                .collect(Collectors.joining(", "));
+    }
+
+    private void flush(ItemImportJob job, List<ItemRecord> chunk, Map<Long, Boolean> knownRequests)
+            throws NotFoundException {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        var unknown = chunk.stream()
+                .map(record -> record.getItem().getRequestId())
+                .filter(requestId -> requestId != null && !knownRequests.containsKey(requestId))
+                .collect(Collectors.toSet());
+        if (!unknown.isEmpty()) {
+            var existing = itemRequestRepository.findAllById(unknown).stream()
+                    .map(ItemRequest::getId)
+                    .collect(Collectors.toSet());
+            unknown.forEach(requestId -> knownRequests.put(requestId, existing.contains(requestId)));
+        }
+        List<ItemCreate> items = new ArrayList<>(chunk.size());
+        for (var record : chunk) {
+            var requestId = record.getItem().getRequestId();
+            if (requestId != null && !knownRequests.get(requestId)) {
+                job.reject(record.getLine(), String.format("REQUEST с id %s не существует", requestId));
+            } else {
+                items.add(record.getItem());
+            }
+        }
+        if (!items.isEmpty()) {
+            job.imported(itemImportService.importItems(job.userId, items));
+        }
+        chunk.clear();
+    }
+}
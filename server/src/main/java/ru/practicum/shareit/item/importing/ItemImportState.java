@@ -0,0 +1,7 @@
+package ru.practicum.shareit.item.importing;
+
+public enum ItemImportState {
+    RUNNING,
+    COMPLETED,
+    FAILED
+}
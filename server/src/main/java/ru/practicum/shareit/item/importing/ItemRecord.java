@@ -0,0 +1,14 @@
+package ru.practicum.shareit.item.importing;
+
+import lombok.Value;
+import ru.practicum.shareit.item.dto.ItemCreate;
+
+/**
+ * Разобранная строка файла импорта: либо ItemCreate, либо описание ошибки разбора.
+ */
+@Value
+class ItemRecord {
+    long line;
+    ItemCreate item;
+    String error;
+}
@@ -0,0 +1,106 @@
+package ru.practicum.shareit.item.importing;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import ru.practicum.shareit.item.dto.ItemCreate;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Последовательно читает файл импорта по одной записи, не загружая его целиком.
+ * Ошибки отдельных записей возвращаются в ItemRecord, ошибки формата файла - исключением.
+ */
+abstract class ItemRecordReader implements Closeable {
+
+    protected final ObjectMapper objectMapper;
+
+    protected ItemRecordReader(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+    }
+
+    static ItemRecordReader open(ItemImportFormat format, Path file, ObjectMapper objectMapper) throws IOException {
+        var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        return format == ItemImportFormat.CSV ? new Csv(reader, objectMapper) : new Ndjson(reader, objectMapper);
+    }
+
+    /**
+     * Следующая запись или null, если файл закончился.
+     */
+    abstract ItemRecord next() throws IOException;
+
+    private static final class Ndjson extends ItemRecordReader {
+        private final BufferedReader reader;
+        private long line;
+
+        private Ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+            super(objectMapper);
+            this.reader = reader;
+        }
+
+        @Override
+        ItemRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                line++;
+                if (text == null) {
+                    return null;
+                }
+            } while (text.isBlank());
+            try {
+                return new ItemRecord(line, objectMapper.readValue(text, ItemCreate.class), null);
+            } catch (JsonProcessingException e) {
+                return new ItemRecord(line, null, "Некорректный JSON: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            reader.close();
+        }
+    }
+
+    private static final class Csv extends ItemRecordReader {
+        private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+        private final MappingIterator<Map<String, String>> rows;
+
+        private Csv(BufferedReader reader, ObjectMapper objectMapper) throws IOException {
+            super(objectMapper);
+            this.rows = CSV_MAPPER.readerForMapOf(String.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(reader);
+        }
+
+        @Override
+        ItemRecord next() throws IOException {
+            if (!rows.hasNextValue()) {
+                return null;
+            }
+            var line = rows.getCurrentLocation().getLineNr();
+            var row = rows.nextValue();
+            Map<String, String> values = new HashMap<>();
+            row.forEach((column, value) -> values.put(column.trim(), value == null || value.isBlank() ? null : value));
+            try {
+                return new ItemRecord(line, objectMapper.convertValue(values, ItemCreate.class), null);
+            } catch (IllegalArgumentException e) {
+                return new ItemRecord(line, null, "Некорректная строка CSV: " + e.getMessage());
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            rows.close();
+        }
+    }
+}
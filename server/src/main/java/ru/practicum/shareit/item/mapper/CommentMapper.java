@@ -5,6 +5,7 @@ import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
@@ -17,6 +18,8 @@ public interface CommentMapper {
     @Mapping(target = "id", expression = "java(comment.getId())")
     CommentResponse toDto(Comment comment);
 
+    CommentResponse toDto(CommentView commentView);
+
     @Mapping(target = "id", ignore = true)
     Comment fromDto(CommentRequest commentRequest, User author, Item item);
 }
@@ -7,6 +7,7 @@ import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemBookingResponse;
 import ru.practicum.shareit.item.dto.ItemCreate;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
@@ -27,10 +28,18 @@ public interface ItemMapper {
             Item item, ItemBookingResponse nextBooking,
             ItemBookingResponse lastBooking, List<CommentResponse> comments);
 
+    ItemResponse toDto(ItemView itemView);
+
+    @Mapping(target = "id", source = "itemView.id")
+    ItemResponse toDtoWithBooking(
+            ItemView itemView, ItemBookingResponse nextBooking,
+            ItemBookingResponse lastBooking, List<CommentResponse> comments);
+
     @Mapping(target = "name", expression = "java(itemCreate.getName())")
     @Mapping(target = "user", source = "user")
     @Mapping(target = "itemRequest", source = "itemRequest")
     @Mapping(target = "description", expression = "java(itemCreate.getDescription())")
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "version", ignore = true)
     Item fromDto(ItemCreate itemCreate, User user, ItemRequest itemRequest);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.Embeddable;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@FieldDefaults(level = AccessLevel.PRIVATE)
+public class BookingRef {
+    Long id;
+    Long bookerId;
+}
@@ -0,0 +1,35 @@
+package ru.practicum.shareit.item.model;
+
+import lombok.*;
+import lombok.experimental.FieldDefaults;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Последнее и ближайшее одобренные бронирования Item. Строка устаревает,
+ * когда наступает nextStartDate: ближайшее бронирование становится последним.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@FieldDefaults(level = AccessLevel.PRIVATE)
+@Table(name = "item_booking_summaries")
+public class ItemBookingSummary {
+    @Id
+    @Column(name = "item_id")
+    Long itemId;
+    @Embedded
+    @AttributeOverride(name = "id", column = @Column(name = "last_booking_id"))
+    @AttributeOverride(name = "bookerId", column = @Column(name = "last_booker_id"))
+    BookingRef lastBooking;
+    @Embedded
+    @AttributeOverride(name = "id", column = @Column(name = "next_booking_id"))
+    @AttributeOverride(name = "bookerId", column = @Column(name = "next_booker_id"))
+    BookingRef nextBooking;
+    @Column(name = "next_start_date")
+    LocalDateTime nextStartDate;
+}
@@ -1,12 +1,23 @@
 package ru.practicum.shareit.item.repository;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
     List<Comment> findAllByItemId(Long itemId);
+
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemIdIn(Collection<Long> itemIds);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.CommentView(c.id, c.item.id, c.text, a.name, c.created) " +
+            "FROM Comment c JOIN c.author a WHERE c.item.id IN :itemIds ORDER BY c.id")
+    List<CommentView> findViewsByItemIdIn(Collection<Long> itemIds);
 }
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.item.repository;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ItemBookingSummaryRepository extends JpaRepository<ItemBookingSummary, Long> {
+
+    @Query(value = "SELECT s.itemId FROM ItemBookingSummary s WHERE s.nextStartDate <= :now ORDER BY s.nextStartDate")
+    List<Long> findExpiredItemIds(LocalDateTime now, Pageable pageable);
+
+    @Query(value = "SELECT s.itemId FROM ItemBookingSummary s " +
+            "WHERE s.lastBooking.bookerId = :bookerId OR s.nextBooking.bookerId = :bookerId")
+    List<Long> findItemIdsByBookerId(Long bookerId);
+}
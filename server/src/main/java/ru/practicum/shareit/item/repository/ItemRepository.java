@@ -2,28 +2,73 @@ package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
 
 @Repository
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    List<Item> findAllByUserId(Long userId, Pageable pageable);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForUpdate(@Param("itemId") Long itemId);
 
-    List<Item> findAllByUserId(Long userId);
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM Item i WHERE i.id IN :itemIds ORDER BY i.id")
+    List<Item> findAllByIdInForUpdate(@Param("itemIds") Collection<Long> itemIds);
 
-    List<Item> findAllByItemRequestIdNotNull();
+    /**
+     * Блокирует Item и увеличивает его версию: её ETag включает комментарии, которых нет в строке items.
+     * Параллельные комментарии к одному Item выполняются по очереди, а не отклоняются конфликтом версий.
+     */
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT i FROM Item i WHERE i.id = :itemId")
+    Optional<Item> findByIdForVersionIncrement(@Param("itemId") Long itemId);
 
-    List<Item> findAllByItemRequestAuthorId(Long authorId);
+    @Modifying
+    @Query("UPDATE Item i SET i.version = i.version + 1 " +
+            "WHERE i.id IN (SELECT c.item.id FROM Comment c WHERE c.author.id = :authorId)")
+    int incrementVersionsCommentedBy(@Param("authorId") Long authorId);
 
-    @Query(value = "SELECT i FROM Item i " +
-            "WHERE i.isAvailable = true AND (lower(i.name) LIKE %:text% OR lower(i.description) LIKE %:text%)")
-    List<Item> searchItems(@Param("text") String text);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT i FROM Item i WHERE i.itemRequest.author.id = :authorId")
+    List<Item> findAllByItemRequestAuthorId(@Param("authorId") Long authorId);
 
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
     List<Item> findAllByItemRequest(ItemRequest itemRequest);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemView(" +
+            "i.id, i.name, i.description, i.isAvailable, i.user.id, r.id) " +
+            "FROM Item i LEFT JOIN i.itemRequest r WHERE i.user.id = :userId")
+    List<ItemView> findViewsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemView(" +
+            "i.id, i.name, i.description, i.isAvailable, i.user.id, r.id) " +
+            "FROM Item i LEFT JOIN i.itemRequest r WHERE i.id IN :itemIds")
+    List<ItemView> findViewsByIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemView(" +
+            "i.id, i.name, i.description, i.isAvailable, i.user.id, r.id) " +
+            "FROM Item i LEFT JOIN i.itemRequest r " +
+            "WHERE i.isAvailable = true AND (lower(i.name) LIKE %:text% OR lower(i.description) LIKE %:text%)")
+    List<ItemView> searchItemViews(@Param("text") String text, Pageable pageable);
+
+    @Query(value = "SELECT new ru.practicum.shareit.item.dto.ItemView(" +
+            "i.id, i.name, i.description, i.isAvailable, i.user.id, i.itemRequest.id) " +
+            "FROM Item i WHERE i.itemRequest.id IN :requestIds")
+    List<ItemView> findViewsByItemRequestIdIn(@Param("requestIds") Collection<Long> requestIds);
 }
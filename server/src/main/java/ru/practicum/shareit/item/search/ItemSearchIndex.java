@@ -0,0 +1,213 @@
+package ru.practicum.shareit.item.search;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Триграммный инвертированный индекс по названию и описанию Item.
+ * Даёт ту же семантику, что и LIKE %text% в ItemRepository.searchItemViews, но без прохода по таблице.
+ * Запросы короче одной триграммы индекс не обслуживает: их кандидатами были бы все документы.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ItemSearchIndex {
+
+    private static final int GRAM = 3;
+    private static final int REBUILD_BATCH = 1000;
+
+    private final ItemRepository itemRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Postings postings = new Postings();
+    private List<Consumer<Postings>> pending;
+    private volatile boolean ready;
+
+    /**
+     * Строит новый индекс без блокировки и подменяет им текущий. Изменения, пришедшие во время построения,
+     * применяются к текущему индексу и запоминаются, а перед подменой повторяются на новом: чтение из базы
+     * могло застать Item до них. До первого построения поиск обслуживает база.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void rebuild() {
+        log.info("Перестроение поискового индекса Item");
+        withWriteLock(() -> pending = new ArrayList<>());
+        try {
+            var built = new Postings();
+            var pageable = PageRequest.of(0, REBUILD_BATCH, Sort.Direction.ASC, "id");
+            List<Item> batch;
+            do {
+                batch = itemRepository.findAll(pageable).getContent();
+                batch.forEach(item -> built.add(item.getId(), new Document(item)));
+                pageable = pageable.next();
+            } while (batch.size() == REBUILD_BATCH);
+            withWriteLock(() -> {
+                pending.forEach(update -> update.accept(built));
+                postings = built;
+                ready = true;
+            });
+            log.info("Поисковый индекс Item построен, документов: {}", built.documents.size());
+        } finally {
+            withWriteLock(() -> pending = null);
+        }
+    }
+
+    /**
+     * Индекс построен и text содержит хотя бы одну триграмму.
+     */
+    public boolean canSearch(String text) {
+        return ready && text.length() >= GRAM;
+    }
+
+    public void index(Item item) {
+        var itemId = item.getId();
+        var document = new Document(item);
+        update(index -> {
+            index.remove(itemId);
+            index.add(itemId, document);
+        });
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        update(index -> index.removeOwner(event.getUserId()));
+    }
+
+    /**
+     * Id доступных Item, содержащих text в названии или описании, по возрастанию id.
+     */
+    public List<Long> search(String text, int from, int size) {
+        if (text.length() < GRAM) {
+            throw new IllegalArgumentException("Запрос короче " + GRAM + " символов не обслуживается индексом");
+        }
+        var query = text.toLowerCase();
+        lock.readLock().lock();
+        try {
+            return postings.candidates(query).stream()
+                    .filter(id -> {
+                        var document = postings.documents.get(id);
+                        return document.available && document.matches(query);
+                    })
+                    .skip(from)
+                    .limit(size)
+                    .collect(Collectors.toList());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void update(Consumer<Postings> update) {
+        withWriteLock(() -> {
+            update.accept(postings);
+            if (pending != null) {
+                pending.add(update);
+            }
+        });
+    }
+
+    private void withWriteLock(Runnable action) {
+        lock.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    private static class Postings {
+        final NavigableMap<Long, Document> documents = new TreeMap<>();
+        final Map<String, NavigableSet<Long>> ids = new HashMap<>();
+
+        Collection<Long> candidates(String query) {
+            List<NavigableSet<Long>> lists = new ArrayList<>();
+            for (String gram : grams(query)) {
+                var gramIds = ids.get(gram);
+                if (gramIds == null) {
+                    return Collections.emptyList();
+                }
+                lists.add(gramIds);
+            }
+            lists.sort(Comparator.comparingInt(Set::size));
+            var smallest = lists.get(0);
+            var rest = lists.subList(1, lists.size());
+            return smallest.stream()
+                    .filter(id -> rest.stream().allMatch(gramIds -> gramIds.contains(id)))
+                    .collect(Collectors.toList());
+        }
+
+        void add(Long itemId, Document document) {
+            documents.put(itemId, document);
+            document.grams().forEach(gram ->
+                    ids.computeIfAbsent(gram, g -> new TreeSet<>()).add(itemId));
+        }
+
+        void remove(Long itemId) {
+            var document = documents.remove(itemId);
+            if (document == null) {
+                return;
+            }
+            document.grams().forEach(gram -> {
+                var gramIds = ids.get(gram);
+                gramIds.remove(itemId);
+                if (gramIds.isEmpty()) {
+                    ids.remove(gram);
+                }
+            });
+        }
+
+        void removeOwner(Long ownerId) {
+            var itemIds = documents.entrySet().stream()
+                    .filter(e -> e.getValue().ownerId.equals(ownerId))
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toList());
+            itemIds.forEach(this::remove);
+        }
+    }
+
+    private static class Document {
+        final Long ownerId;
+        final String name;
+        final String description;
+        final boolean available;
+
+        Document(Item item) {
+            this.ownerId = item.getUser().getId();
+            this.name = item.getName() == null ? "" : item.getName().toLowerCase();
+            this.description = item.getDescription() == null ? "" : item.getDescription().toLowerCase();
+            this.available = Boolean.TRUE.equals(item.getIsAvailable());
+        }
+
+        boolean matches(String query) {
+            return name.contains(query) || description.contains(query);
+        }
+
+        Set<String> grams() {
+            var grams = ItemSearchIndex.grams(name);
+            grams.addAll(ItemSearchIndex.grams(description));
+            return grams;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.item.model.BookingRef;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Поддерживает таблицу item_booking_summaries: пересчитывает строки при одобрении бронирований
+ * и по расписанию, когда начало ближайшего бронирования уходит в прошлое.
+ * Чтение ничего не записывает: отсутствующие и устаревшие строки вычисляются без сохранения,
+ * иначе одновременные первые просмотры Item вставляли бы одну и ту же строку.
+ * Запись блокирует строки items, поэтому пересчёты одной вещи выполняются по очереди.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ItemBookingSummaryService {
+
+    private static final int SWEEP_BATCH = 500;
+
+    private final ItemBookingSummaryRepository summaryRepository;
+    private final BookingRepository bookingRepository;
+    private final ItemRepository itemRepository;
+    private final EntityManager entityManager;
+    private final Clock clock;
+
+    @Transactional(readOnly = true)
+    public ItemBookingSummary getSummary(Long itemId) {
+        return getSummaries(List.of(itemId)).get(itemId);
+    }
+
+    @Transactional(readOnly = true)
+    public Map<Long, ItemBookingSummary> getSummaries(Collection<Long> itemIds) {
+        var now = LocalDateTime.now(clock);
+        var summaries = findAllById(itemIds);
+        var stale = itemIds.stream()
+                .filter(itemId -> isStale(summaries.get(itemId), now))
+                .collect(Collectors.toList());
+        if (!stale.isEmpty()) {
+            summaries.putAll(compute(stale, now));
+        }
+        return summaries;
+    }
+
+    @Transactional
+    public void refresh(Collection<Long> itemIds) {
+        if (!itemIds.isEmpty()) {
+            recompute(itemIds, LocalDateTime.now(clock));
+        }
+    }
+
+    /**
+     * Вызывается после коммита удаления, поэтому пересчёт идёт в собственной транзакции.
+     */
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onUserDeleted(UserDeletedEvent event) {
+        refresh(summaryRepository.findItemIdsByBookerId(event.getUserId()));
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.item-summary.sweep-interval:PT1M}",
+            initialDelayString = "${shareit.item-summary.sweep-interval:PT1M}")
+    @Transactional
+    public void sweep() {
+        var now = LocalDateTime.now(clock);
+        var itemIds = summaryRepository.findExpiredItemIds(now, PageRequest.of(0, SWEEP_BATCH));
+        if (itemIds.isEmpty()) {
+            return;
+        }
+        recompute(itemIds, now);
+        log.info("Обновлены сводки бронирований для {} Item", itemIds.size());
+    }
+
+    private static boolean isStale(ItemBookingSummary summary, LocalDateTime now) {
+        return summary == null || summary.getNextStartDate() != null && !summary.getNextStartDate().isAfter(now);
+    }
+
+    private Map<Long, ItemBookingSummary> findAllById(Collection<Long> itemIds) {
+        return summaryRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(ItemBookingSummary::getItemId, Function.identity()));
+    }
+
+    private Map<Long, ItemBookingSummary> compute(Collection<Long> itemIds, LocalDateTime now) {
+        var lastBookings = byItem(bookingRepository.findLastBookings(itemIds, Status.APPROVED, now));
+        var nextBookings = byItem(bookingRepository.findNextBookings(itemIds, Status.APPROVED, now));
+        Map<Long, ItemBookingSummary> summaries = new HashMap<>();
+        for (var itemId : itemIds) {
+            var next = nextBookings.get(itemId);
+            summaries.put(itemId, ItemBookingSummary.builder()
+                    .itemId(itemId)
+                    .lastBooking(toRef(lastBookings.get(itemId)))
+                    .nextBooking(toRef(next))
+                    .nextStartDate(next == null ? null : next.getStartDate())
+                    .build());
+        }
+        return summaries;
+    }
+
+    /**
+     * Загруженные строки обновляются на месте, новые сохраняются через persist:
+     * saveAll с заданным id делал бы merge и отдельный select на каждую строку.
+     * Блокировка Item до чтения строк гарантирует, что конкурентный пересчёт уже закоммитил свою вставку.
+     * Сводка входит в ответ владельцу, поэтому её изменение увеличивает версию Item, а с ней и ETag.
+     */
+    private void recompute(Collection<Long> itemIds, LocalDateTime now) {
+        var items = itemRepository.findAllByIdInForUpdate(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        if (items.isEmpty()) {
+            return;
+        }
+        var existing = findAllById(items.keySet());
+        var computed = compute(items.keySet(), now);
+        for (var item : items.values()) {
+            var fresh = computed.get(item.getId());
+            var summary = existing.get(item.getId());
+            boolean changed = summary == null
+                    || !Objects.equals(refId(summary.getLastBooking()), refId(fresh.getLastBooking()))
+                    || !Objects.equals(refId(summary.getNextBooking()), refId(fresh.getNextBooking()));
+            if (summary == null) {
+                entityManager.persist(fresh);
+            } else {
+                summary.setLastBooking(fresh.getLastBooking());
+                summary.setNextBooking(fresh.getNextBooking());
+                summary.setNextStartDate(fresh.getNextStartDate());
+            }
+            if (changed) {
+                entityManager.lock(item, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+            }
+        }
+    }
+
+    private static Map<Long, Booking> byItem(List<Booking> bookings) {
+        return bookings.stream()
+                .collect(Collectors.toMap(b -> b.getItem().getId(), Function.identity(), (first, second) -> first));
+    }
+
+    private static Long refId(BookingRef ref) {
+        return ref == null ? null : ref.getId();
+    }
+
+    private static BookingRef toRef(Booking booking) {
+        return booking == null ? null : new BookingRef(booking.getId(), booking.getBooker().getId());
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.item.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.util.Constants;
+import ru.practicum.shareit.item.dto.ItemCreate;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.service.UserLookupService;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Массовая загрузка Item одного владельца. Id берутся из пула последовательности, вставки уходят
+ * JDBC-пачками (hibernate.jdbc.batch_size), контекст сохраняемости сбрасывается каждые chunk-size строк.
+ */
+@Service
+@Slf4j
+public class ItemImportService {
+
+    private final EntityManager entityManager;
+    private final UserLookupService userLookupService;
+    private final ItemMapper itemMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final int chunkSize;
+
+    public ItemImportService(EntityManager entityManager,
+                             UserLookupService userLookupService,
+                             ItemMapper itemMapper,
+                             ItemSearchIndex itemSearchIndex,
+                             @Value("${shareit.import.chunk-size:1000}") int chunkSize) {
+        this.entityManager = entityManager;
+        this.userLookupService = userLookupService;
+        this.itemMapper = itemMapper;
+        this.itemSearchIndex = itemSearchIndex;
+        this.chunkSize = chunkSize;
+    }
+
+    @Transactional
+    public int importItems(Long userId, List<ItemCreate> itemCreates) throws NotFoundException {
+        log.info("Импорт {} Item от USER с id: {}", itemCreates.size(), userId);
+        if (userLookupService.findById(userId).isEmpty()) {
+            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
+        }
+        // Загружаемые Item не кладутся в кэш второго уровня и не вытесняют из него часто читаемые
+        entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+        var user = entityManager.getReference(User.class, userId);
+        List<Item> items = new ArrayList<>(itemCreates.size());
+        for (var itemCreate : itemCreates) {
+            var itemRequest = itemCreate.getRequestId() == null ? null
+                    : entityManager.getReference(ItemRequest.class, itemCreate.getRequestId());
+            var item = itemMapper.fromDto(itemCreate, user, itemRequest);
+            entityManager.persist(item);
+            items.add(item);
+            if (items.size() % chunkSize == 0) {
+                entityManager.flush();
+                entityManager.clear();
+                user = entityManager.getReference(User.class, userId);
+            }
+        }
+        entityManager.flush();
+        afterCommit(() -> items.forEach(itemSearchIndex::index));
+        return items.size();
+    }
+
+    private static void afterCommit(Runnable action) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
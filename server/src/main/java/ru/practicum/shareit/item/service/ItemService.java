@@ -3,6 +3,7 @@ package ru.practicum.shareit.item.service;
 import ru.practicum.shareit.exception.model.AccessDeniedException;
 import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.item.dto.CommentRequest;
 import ru.practicum.shareit.item.dto.CommentResponse;
 import ru.practicum.shareit.item.dto.ItemCreate;
@@ -13,8 +14,10 @@ import java.util.List;
 public interface ItemService {
     ItemResponse createItem(ItemCreate itemCreate, Long userId) throws NotFoundException;
 
-    ItemResponse updateItem(ItemCreate itemCreate, Long userId, Long itemId)
-            throws NotFoundException, AccessDeniedException;
+    ItemResponse updateItem(ItemCreate itemCreate, Long userId, Long itemId, String ifMatch)
+            throws NotFoundException, AccessDeniedException, PreconditionFailedException;
+
+    String getItemTag(Long userId, Long itemId) throws NotFoundException;
 
     ItemResponse getItem(Long userId, Long itemId) throws NotFoundException;
 
@@ -6,24 +6,33 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.AccessDeniedException;
 import ru.practicum.shareit.exception.model.ItemException;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.exception.util.Constants;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
 
+import java.time.Clock;
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.booking.repository.BookingSpecification.*;
@@ -34,33 +43,38 @@ import static ru.practicum.shareit.booking.repository.BookingSpecification.*;
 public class ItemServiceImpl implements ItemService {
 
     private final ItemRepository itemRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final BookingRepository bookingRepository;
     private final CommentRepository commentRepository;
     private final ItemRequestRepository itemRequestRepository;
     private final ItemMapper itemMapper;
     private final CommentMapper commentMapper;
     private final BookingMapper bookingMapper;
+    private final ItemSearchIndex itemSearchIndex;
+    private final ItemBookingSummaryService itemBookingSummaryService;
+    private final Clock clock;
 
     @Override
     public ItemResponse createItem(ItemCreate itemCreate, Long userId) throws NotFoundException {
         log.info("Создание новой Item с именем {} от USER с id: {}", itemCreate.getName(), userId);
-        if (notExist(userId)) {
-            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
-        }
-        var user = userRepository.findById(userId).get();
+        var user = userLookupService.findById(userId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId)));
         ItemRequest itemRequest = null;
         if (itemCreate.getRequestId() != null) {
             itemRequest = itemRequestRepository.findById(itemCreate.getRequestId()).get();
         }
         var item = itemRepository.saveAndFlush(itemMapper.fromDto(itemCreate, user, itemRequest));
+        itemSearchIndex.index(item);
         return itemMapper.toDtoWithBooking(item, null, null, null);
     }
 
     @Override
+    @Transactional
     public ItemResponse updateItem(ItemCreate itemCreate,
                                    Long userId,
-                                   Long itemId) throws NotFoundException, AccessDeniedException {
+                                   Long itemId,
+                                   String ifMatch)
+            throws NotFoundException, AccessDeniedException, PreconditionFailedException {
         log.info("Обновление Item с id {} от USER с id: {}", itemId, userId);
         var item = itemRepository.findById(itemId).orElseThrow(
                 () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, itemId)));
@@ -68,6 +82,7 @@ public class ItemServiceImpl implements ItemService {
             throw new AccessDeniedException(
                     String.format("USER с id %s не может редактировать этот ITEM c id %s", userId, itemId));
         }
+        ETags.checkIfMatch(ifMatch, itemTag(item, true));
         if (itemCreate.getName() != null) {
             item.setName(itemCreate.getName());
         }
@@ -78,9 +93,20 @@ public class ItemServiceImpl implements ItemService {
             item.setIsAvailable(itemCreate.getIsAvailable());
         }
         itemRepository.saveAndFlush(item);
+        itemSearchIndex.index(item);
         return itemMapper.toDto(item);
     }
 
+    @Override
+    public String getItemTag(Long userId, Long itemId) throws NotFoundException {
+        if (notExist(userId)) {
+            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
+        }
+        var item = itemRepository.findById(itemId)
+                .orElseThrow(() -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, itemId)));
+        return itemTag(item, item.getUser().getId().equals(userId));
+    }
+
     @Override
     public ItemResponse getItem(Long userId, Long itemId) throws NotFoundException {
         log.info("Получение Item с id {} от USER с id: {}", itemId, userId);
@@ -89,10 +115,11 @@ public class ItemServiceImpl implements ItemService {
         ItemBookingResponse nextBookingResponse = null;
         ItemBookingResponse lastBookingResponse = null;
         if (item.getUser().getId().equals(userId)) {
-            nextBookingResponse = getNextBooking(itemId);
-            lastBookingResponse = getLastBooking(itemId);
+            var summary = itemBookingSummaryService.getSummary(itemId);
+            nextBookingResponse = bookingMapper.toDtoItemBooking(summary.getNextBooking());
+            lastBookingResponse = bookingMapper.toDtoItemBooking(summary.getLastBooking());
         }
-        var comments = commentRepository.findAllByItemId(itemId);
+        var comments = commentRepository.findViewsByItemIdIn(List.of(itemId));
         var commentsResponse = comments.stream()
                 .map(commentMapper::toDto)
                 .collect(Collectors.toList());
@@ -108,34 +135,24 @@ public class ItemServiceImpl implements ItemService {
         if (from < 0) throw new RuntimeException("from не может быть меньше 0");
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, Sort.Direction.ASC, "id");
-        var comments = commentRepository.findAll();
-        var bookingsAfter = bookingRepository.findAll(startDateIsAfter().and(orderByAsc()));
-        var bookingsBefore = bookingRepository.findAll(startDateIsBefore());
-        return itemRepository.findAllByUserId(userId, pageable).stream()
-                .map(i -> {
-                    ItemBookingResponse nextBookingResponse = null;
-                    if (!bookingsAfter.isEmpty()) {
-                        nextBookingResponse = bookingsAfter.stream().filter(b ->
-                                        b.getStatus().equals(Status.APPROVED)
-                                                && b.getItem().getId().equals(i.getId()))
-                                .map(bookingMapper::toDtoItemBooking)
-                                .findFirst().orElse(null);
-                    }
-                    ItemBookingResponse lastBookingResponse = null;
-                    if (!bookingsBefore.isEmpty()) {
-                        lastBookingResponse = bookingsBefore.stream().filter(b ->
-                                        b.getStatus().equals(Status.APPROVED)
-                                                && b.getItem().getId().equals(i.getId()))
-                                .map(bookingMapper::toDtoItemBooking)
-                                .findFirst().orElse(null);
-                    }
-                    var commentsResponse = comments.stream()
-                            .filter(c -> c.getItem().getId().equals(i.getId()))
-                            .map(commentMapper::toDto)
-                            .collect(Collectors.toList());
-                    return itemMapper.toDtoWithBooking(
-                            i, nextBookingResponse, lastBookingResponse, commentsResponse);
-                })
+        var items = itemRepository.findViewsByUserId(userId, pageable);
+        if (items.isEmpty()) {
+            return Collections.emptyList();
+        }
+        var itemIds = items.stream()
+                .map(ItemView::getId)
+                .collect(Collectors.toList());
+        var comments = commentRepository.findViewsByItemIdIn(itemIds).stream()
+                .collect(Collectors.groupingBy(CommentView::getItemId));
+        var summaries = itemBookingSummaryService.getSummaries(itemIds);
+        return items.stream()
+                .map(i -> itemMapper.toDtoWithBooking(
+                        i,
+                        bookingMapper.toDtoItemBooking(summaries.get(i.getId()).getNextBooking()),
+                        bookingMapper.toDtoItemBooking(summaries.get(i.getId()).getLastBooking()),
+                        comments.getOrDefault(i.getId(), Collections.emptyList()).stream()
+                                .map(commentMapper::toDto)
+                                .collect(Collectors.toList())))
                 .collect(Collectors.toList());
     }
 
@@ -148,57 +165,57 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemRepository.searchItems(text.toLowerCase()).stream()
+        if (from < 0) throw new RuntimeException("from не может быть меньше 0");
+        List<ItemView> items;
+        if (itemSearchIndex.canSearch(text)) {
+            var ids = itemSearchIndex.search(text, from, size);
+            if (ids.isEmpty()) {
+                return Collections.emptyList();
+            }
+            var found = itemRepository.findViewsByIdIn(ids).stream()
+                    .collect(Collectors.toMap(ItemView::getId, Function.identity()));
+            items = ids.stream()
+                    .map(found::get)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toList());
+        } else {
+            int page = from / size;
+            items = itemRepository.searchItemViews(text.toLowerCase(),
+                    PageRequest.of(page, size, Sort.Direction.ASC, "id"));
+        }
+        return items.stream()
                 .map(itemMapper::toDto)
                 .collect(Collectors.toList());
     }
 
     @Override
+    @Transactional
     public CommentResponse addComment(CommentRequest commentRequest, Long userId, Long itemId)
             throws NotFoundException, ItemException {
         log.info("Создание нового Comment к Item с id {} от USER с id: {}", itemId, userId);
-        if (notExist(userId)) {
-            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId));
-        }
+        var author = userLookupService.findById(userId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId)));
         var bookings = bookingRepository.findAll(byBookerId(userId)
                 .and(byItemId(itemId))
                 .and(byStatus(Status.APPROVED))
-                .and(startDateIsBefore()));
+                .and(startDateIsBefore(LocalDateTime.now(clock))));
         if (bookings.isEmpty()) {
             throw new ItemException(String.format("USER с id %s не брал ITEM c id %s ", userId, itemId));
         }
-        var author = userRepository.findById(userId).get();
-        var item = itemRepository.findById(itemId).get();
+        var item = itemRepository.findByIdForVersionIncrement(itemId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, itemId)));
         var comment = commentRepository.save(commentMapper.fromDto(commentRequest, author, item));
         return commentMapper.toDto(comment);
     }
 
     private boolean notExist(Long userId) {
-        return userRepository.findById(userId).isEmpty();
+        return userLookupService.findById(userId).isEmpty();
     }
 
-    private ItemBookingResponse getNextBooking(Long itemId) {
-        ItemBookingResponse nextBookingResponse = null;
-        var nextBooking = bookingRepository.findAll(byItemId(itemId)
-                        .and(byStatus(Status.APPROVED))
-                        .and(startDateIsAfter())
-                        .and(orderByAsc()),
-                PageRequest.of(0, 1));
-        if (!nextBooking.isEmpty()) {
-            nextBookingResponse = bookingMapper.toDtoItemBooking(nextBooking.stream().findFirst().get());
-        }
-        return nextBookingResponse;
-    }
-
-    private ItemBookingResponse getLastBooking(Long itemId) {
-        ItemBookingResponse lastBookingResponse = null;
-        var lastBooking = bookingRepository.findAll(byItemId(itemId)
-                        .and(byStatus(Status.APPROVED))
-                        .and(startDateIsBefore()),
-                PageRequest.of(0, 1));
-        if (!lastBooking.isEmpty()) {
-            lastBookingResponse = bookingMapper.toDtoItemBooking(lastBooking.stream().findFirst().get());
-        }
-        return lastBookingResponse;
+    /**
+     * Владелец видит lastBooking и nextBooking, остальные — нет, поэтому роль входит в тег.
+     */
+    private static String itemTag(Item item, boolean owner) {
+        return ETags.of(owner ? "item-owner" : "item", item.getId(), item.getVersion());
     }
 }
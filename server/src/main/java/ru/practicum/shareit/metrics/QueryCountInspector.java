@@ -0,0 +1,44 @@
+package ru.practicum.shareit.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Считает SQL-запросы, подготовленные Hibernate в текущем потоке.
+ * Hibernate создаёт инспектор сам, поэтому счётчик хранится в статическом ThreadLocal.
+ * Между startRecording и stopRecording тексты запросов потока дополнительно сохраняются.
+ */
+public class QueryCountInspector implements StatementInspector {
+    private static final ThreadLocal<long[]> COUNTER = ThreadLocal.withInitial(() -> new long[1]);
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        COUNTER.get()[0]++;
+        var statements = STATEMENTS.get();
+        if (statements != null) {
+            statements.add(sql);
+        }
+        return sql;
+    }
+
+    public static long getCount() {
+        return COUNTER.get()[0];
+    }
+
+    public static void reset() {
+        COUNTER.get()[0] = 0;
+    }
+
+    public static void startRecording() {
+        STATEMENTS.set(new ArrayList<>());
+    }
+
+    public static List<String> stopRecording() {
+        var statements = STATEMENTS.get();
+        STATEMENTS.remove();
+        return statements != null ? statements : List.of();
+    }
+}
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.util.StateStrategy;
+
+/**
+ * Таймеры на все публичные методы сервисов и стратегий выборки бронирований.
+ * Каждый вызов помечается результатом и типом исключения, стратегии ещё и состоянием.
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    public static final String SERVICE_TIMER = "shareit.service";
+    public static final String STATE_TIMER = "shareit.booking.state";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * ru.practicum.shareit..service.*ServiceImpl.*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of("service", AopUtils.getTargetClass(joinPoint.getTarget()).getSimpleName());
+        return time(SERVICE_TIMER, tags, joinPoint);
+    }
+
+    @Around("execution(public * ru.practicum.shareit.booking.util.StateStrategy+.find*(..))")
+    public Object timeStateStrategy(ProceedingJoinPoint joinPoint) throws Throwable {
+        Tags tags = Tags.of("state", ((StateStrategy) joinPoint.getTarget()).getState().name());
+        return time(STATE_TIMER, tags, joinPoint);
+    }
+
+    private Object time(String name, Tags tags, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            outcome = "error";
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tags(tags)
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("outcome", outcome)
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
@@ -41,9 +44,11 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ItemRequestResponse getRequestItem(@PathVariable Long requestId,
-                                              @RequestHeader("X-Sharer-User-Id") Long authorId) throws NotFoundException {
-        return itemRequestService.getRequestItem(requestId, authorId);
+    public ResponseEntity<ItemRequestResponse> getRequestItem(@PathVariable Long requestId,
+                                                              @RequestHeader("X-Sharer-User-Id") Long authorId,
+                                                              WebRequest request) throws NotFoundException {
+        return ETags.conditionalGet(request, itemRequestService.getRequestTag(requestId, authorId),
+                () -> itemRequestService.getRequestItem(requestId, authorId));
     }
 
 }
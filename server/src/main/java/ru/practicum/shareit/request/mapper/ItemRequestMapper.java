@@ -19,6 +19,7 @@ public interface ItemRequestMapper {
     @Mapping(target = "items", source = "items")
     ItemRequestResponse toDto(ItemRequest itemRequest, List<ItemResponse> items);
 
+    @Mapping(target = "id", ignore = true)
     @Mapping(target = "author", source = "author")
     ItemRequest fromDto(ItemRequestRequest itemRequestRequest, User author);
 
@@ -2,12 +2,22 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+
 @Repository
 public interface ItemRequestRepository extends JpaRepository<ItemRequest, Long> {
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(value = "SELECT r FROM ItemRequest r WHERE r.author.id = :authorId")
     List<ItemRequest> findAllByAuthorId(Long authorId, Pageable pageable);
+
+    @Query(value = "SELECT r FROM ItemRequest r WHERE r.author.id <> :authorId")
+    List<ItemRequest> findAllByAuthorIdNot(Long authorId, Pageable pageable);
 }
@@ -14,5 +14,7 @@ public interface ItemRequestService {
 
     List<ItemRequestResponse> getAllOwnerRequestItem(Integer from, Integer size, Long authorId) throws NotFoundException, StateException;
 
+    String getRequestTag(Long requestId, Long authorId) throws NotFoundException;
+
     ItemRequestResponse getRequestItem(Long requestId, Long authorId) throws NotFoundException;
 }
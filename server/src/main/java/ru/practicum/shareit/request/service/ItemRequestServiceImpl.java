@@ -5,26 +5,32 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.exception.util.Constants;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.dto.ItemRequestRequest;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
 
+import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 @Service
 @RequiredArgsConstructor
 public class ItemRequestServiceImpl implements ItemRequestService {
 
     private final ItemRequestRepository itemRequestRepository;
-    private final UserRepository userRepository;
+    private final UserLookupService userLookupService;
     private final ItemRepository itemRepository;
     private final ItemRequestMapper itemRequestMapper;
     private final ItemMapper itemMapper;
@@ -32,10 +38,8 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     public ItemRequestResponse addRequestItem(ItemRequestRequest itemRequestRequest, Long authorId)
             throws NotFoundException {
-        if (notExist(authorId)) {
-            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, authorId));
-        }
-        var author = userRepository.findById(authorId).get();
+        var author = userLookupService.findById(authorId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, authorId)));
         var itemReq = itemRequestRepository.save(itemRequestMapper.fromDto(itemRequestRequest, author));
         var items = itemRepository.findAllByItemRequest(itemReq).stream()
                 .map(itemMapper::toDto)
@@ -51,13 +55,16 @@ public class ItemRequestServiceImpl implements ItemRequestService {
         if (from < 0) throw new RuntimeException("from не может быть меньше 0");
         int page = from / size;
         Pageable pageable = PageRequest.of(page, size, Sort.Direction.DESC, "id");
-        var itemReqs = itemRequestRepository.findAll(pageable);
-        var items = itemRepository.findAllByItemRequestIdNotNull();
+        var itemReqs = itemRequestRepository.findAllByAuthorIdNot(authorId, pageable);
+        if (itemReqs.isEmpty()) {
+            return List.of();
+        }
+        var requestIds = itemReqs.stream().map(ItemRequest::getId).collect(Collectors.toList());
+        var items = itemRepository.findViewsByItemRequestIdIn(requestIds).stream()
+                .collect(Collectors.groupingBy(ItemView::getRequestId,
+                        Collectors.mapping(itemMapper::toDto, Collectors.toList())));
         return itemReqs.stream()
-                .filter(ir -> !ir.getAuthor().getId().equals(authorId))
-                .map(ir -> itemRequestMapper.toDto(ir, items.stream()
-                        .filter(i -> i.getItemRequest().getId().equals(ir.getId()))
-                        .map(itemMapper::toDto).collect(Collectors.toList())))
+                .map(ir -> itemRequestMapper.toDto(ir, items.getOrDefault(ir.getId(), List.of())))
                 .collect(Collectors.toList());
     }
 
@@ -77,6 +84,24 @@ public class ItemRequestServiceImpl implements ItemRequestService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Описание и дата запроса не изменяются, поэтому тег строится из id и версий его Item:
+     * добавление, изменение и удаление ответа меняют тег.
+     */
+    @Override
+    public String getRequestTag(Long requestId, Long authorId) throws NotFoundException {
+        if (notExist(authorId)) {
+            throw new NotFoundException(String.format(Constants.USER_NOT_FOUND, authorId));
+        }
+        var itemReq = itemRequestRepository.findById(requestId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.ITEM_NOT_FOUND, requestId)));
+        var versions = itemRepository.findAllByItemRequest(itemReq).stream()
+                .sorted(Comparator.comparing(Item::getId))
+                .flatMapToLong(item -> LongStream.of(item.getId(), item.getVersion()))
+                .toArray();
+        return ETags.of("request", requestId, versions);
+    }
+
     @Override
     public ItemRequestResponse getRequestItem(Long requestId, Long authorId) throws NotFoundException {
         if (notExist(authorId)) {
@@ -91,6 +116,6 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     }
 
     private boolean notExist(Long userId) {
-        return userRepository.findById(userId).isEmpty();
+        return userLookupService.findById(userId).isEmpty();
     }
 }
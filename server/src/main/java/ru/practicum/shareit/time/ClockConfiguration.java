@@ -0,0 +1,30 @@
+package ru.practicum.shareit.time;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Источник текущего времени для условий по датам бронирований (BookingSpecification).
+ * При shareit.clock.tick больше нуля время округляется вниз до целого числа тиков: запросы одного
+ * интервала получают одинаковый параметр "сейчас" и совпадают по ключу кэша запросов.
+ * shareit.clock.fixed останавливает часы на заданном моменте для воспроизводимых бенчмарков.
+ */
+@Configuration
+public class ClockConfiguration {
+
+    @Bean
+    public Clock clock(@Value("${shareit.clock.tick:0s}") Duration tick,
+                       @Value("${shareit.clock.fixed:#{null}}") Optional<Instant> fixed) {
+        var system = Clock.systemDefaultZone();
+        if (fixed.isPresent()) {
+            return Clock.fixed(fixed.get(), system.getZone());
+        }
+        return tick.isZero() ? system : Clock.tick(system, tick);
+    }
+}
@@ -1,8 +1,13 @@
 package ru.practicum.shareit.user.controller;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.service.UserService;
@@ -17,8 +22,9 @@ public class UserController {
     private final UserService userService;
 
     @GetMapping("/{userId}")
-    public UserResponse getUserById(@PathVariable Long userId) throws NotFoundException {
-        return userService.getUser(userId);
+    public ResponseEntity<UserResponse> getUserById(@PathVariable Long userId,
+                                                    WebRequest request) throws NotFoundException {
+        return ETags.conditionalGet(request, userService.getUserTag(userId), () -> userService.getUser(userId));
     }
 
     @PostMapping
@@ -28,8 +34,10 @@ public class UserController {
 
     @PatchMapping("/{userId}")
     public UserResponse updateUser(@PathVariable Long userId,
-                                   @RequestBody UserRequest userRequest) throws NotFoundException {
-        return userService.updateUser(userId, userRequest);
+                                   @RequestBody UserRequest userRequest,
+                                   @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch)
+            throws NotFoundException, PreconditionFailedException {
+        return userService.updateUser(userId, userRequest, ifMatch);
     }
 
     @DeleteMapping("/{userId}")
@@ -0,0 +1,13 @@
+package ru.practicum.shareit.user.event;
+
+import lombok.Value;
+
+/**
+ * Публикуется UserServiceImpl при удалении User. База каскадно удаляет его Item, запросы,
+ * бронирования и комментарии, поэтому кэши и индексы в памяти сбрасывают свои данные
+ * в @TransactionalEventListener после коммита удаления.
+ */
+@Value
+public class UserDeletedEvent {
+    Long userId;
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.user.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Поиск User для проверок существования в сервисах с ограниченным по размеру и времени жизни кэшем.
+ * Кэшируются только найденные User, сбрасываются при обновлении через UserServiceImpl и по UserDeletedEvent,
+ * внутри транзакции - повторно после её завершения, чтобы не закэшировать незакоммиченное состояние.
+ * Попадания и промахи публикуются как shareit.user.cache с тегом result.
+ */
+@Service
+public class UserLookupService {
+
+    public static final String CACHE_COUNTER = "shareit.user.cache";
+
+    private final UserRepository userRepository;
+    private final Cache<Long, User> users;
+
+    public UserLookupService(UserRepository userRepository,
+                             @Value("${shareit.user-cache.max-size:10000}") long maxSize,
+                             @Value("${shareit.user-cache.ttl:5m}") Duration ttl,
+                             MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.users = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        FunctionCounter.builder(CACHE_COUNTER, users, cache -> cache.stats().hitCount())
+                .tag("result", "hit")
+                .description("Обращения к кэшу User в UserLookupService")
+                .register(meterRegistry);
+        FunctionCounter.builder(CACHE_COUNTER, users, cache -> cache.stats().missCount())
+                .tag("result", "miss")
+                .description("Обращения к кэшу User в UserLookupService")
+                .register(meterRegistry);
+    }
+
+    public Optional<User> findById(Long userId) {
+        var cached = users.getIfPresent(userId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        var user = userRepository.findById(userId).map(this::detachedCopy);
+        user.ifPresent(u -> users.put(userId, u));
+        return user;
+    }
+
+    public void evict(Long userId) {
+        users.invalidate(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    users.invalidate(userId);
+                }
+            });
+        }
+    }
+
+    @TransactionalEventListener
+    public void onUserDeleted(UserDeletedEvent event) {
+        users.invalidate(event.getUserId());
+    }
+
+    private User detachedCopy(User user) {
+        return User.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .version(user.getVersion())
+                .build();
+    }
+}
@@ -1,6 +1,7 @@
 package ru.practicum.shareit.user.service;
 
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
 
@@ -9,9 +10,12 @@ import java.util.List;
 public interface UserService {
     UserResponse getUser(Long userId) throws NotFoundException;
 
+    String getUserTag(Long userId) throws NotFoundException;
+
     UserResponse createUser(UserRequest userRequest) throws NotFoundException;
 
-    UserResponse updateUser(Long userId, UserRequest userRequest) throws NotFoundException;
+    UserResponse updateUser(Long userId, UserRequest userRequest, String ifMatch)
+            throws NotFoundException, PreconditionFailedException;
 
     boolean deleteUser(Long userId);
 
@@ -2,15 +2,21 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.etag.ETags;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.exception.util.Constants;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
@@ -23,6 +29,9 @@ public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final ItemRepository itemRepository;
+    private final UserLookupService userLookupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Override
     public UserResponse getUser(Long userId) throws NotFoundException {
@@ -32,6 +41,13 @@ public class UserServiceImpl implements UserService {
                 () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId))));
     }
 
+    @Override
+    public String getUserTag(Long userId) throws NotFoundException {
+        var user = userRepository.findById(userId).orElseThrow(
+                () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId)));
+        return userTag(user);
+    }
+
     @Override
     public UserResponse createUser(UserRequest userRequest) {
         log.info("Создание нового User с именем: {}", userRequest.getName());
@@ -40,17 +56,23 @@ public class UserServiceImpl implements UserService {
     }
 
     @Override
-    public UserResponse updateUser(Long userId, UserRequest userRequest) throws NotFoundException {
+    @Transactional
+    public UserResponse updateUser(Long userId, UserRequest userRequest, String ifMatch)
+            throws NotFoundException, PreconditionFailedException {
         log.info("Обновление User с id: {}", userId);
         var user = userRepository.findById(userId).orElseThrow(
                 () -> new NotFoundException(String.format(Constants.USER_NOT_FOUND, userId)));
+        ETags.checkIfMatch(ifMatch, userTag(user));
         if (userRequest.getEmail() != null) {
             user.setEmail(userRequest.getEmail());
         }
-        if (userRequest.getName() != null) {
+        if (userRequest.getName() != null && !userRequest.getName().equals(user.getName())) {
             user.setName(userRequest.getName());
+            // Имя автора входит в комментарии, а значит и в ETag прокомментированных Item
+            itemRepository.incrementVersionsCommentedBy(userId);
         }
         userRepository.saveAndFlush(user);
+        userLookupService.evict(userId);
         return userMapper.toDto(user);
     }
 
@@ -58,7 +80,12 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public boolean deleteUser(Long userId) {
         log.info("Удаление User с id: {}", userId);
-        return userRepository.deleteUserById(userId) > 0;
+        itemRepository.incrementVersionsCommentedBy(userId);
+        var deleted = userRepository.deleteUserById(userId) > 0;
+        if (deleted) {
+            eventPublisher.publishEvent(new UserDeletedEvent(userId));
+        }
+        return deleted;
     }
 
     @Override
@@ -71,4 +98,8 @@ public class UserServiceImpl implements UserService {
                 .map(userMapper::toDto)
                 .collect(Collectors.toList());
     }
+
+    private static String userTag(User user) {
+        return ETags.of("user", user.getId(), user.getVersion());
+    }
 }
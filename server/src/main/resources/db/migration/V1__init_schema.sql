@@ -1,5 +1,3 @@
-DROP TABLE IF EXISTS users, items, bookings, comments, item_requests;
-
 CREATE TABLE IF NOT EXISTS users (
                                      id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL UNIQUE,
                                      name VARCHAR(255) NOT NULL,
@@ -0,0 +1,12 @@
+-- Идентификаторы выдаются пулом из последовательностей (allocationSize = 50) вместо IDENTITY.
+CREATE SEQUENCE users_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE item_requests_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE items_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE bookings_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comments_seq START WITH 1 INCREMENT BY 50;
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE item_requests ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE items ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE bookings ALTER COLUMN id DROP IDENTITY;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY;
@@ -0,0 +1,13 @@
+-- Последнее и следующее одобренные бронирования вещи, пересчитываются при изменении бронирований
+CREATE TABLE item_booking_summaries (
+    item_id BIGINT NOT NULL,
+    last_booking_id BIGINT,
+    last_booker_id BIGINT,
+    next_booking_id BIGINT,
+    next_booker_id BIGINT,
+    next_start_date TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_item_booking_summary PRIMARY KEY (item_id),
+    FOREIGN KEY (item_id) REFERENCES items (id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_item_booking_summaries_next_start ON item_booking_summaries (next_start_date);
@@ -0,0 +1,18 @@
+-- Outbox событий бронирований
+CREATE SEQUENCE booking_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE booking_events (
+    id BIGINT NOT NULL UNIQUE,
+    type VARCHAR(55) NOT NULL,
+    booking_id BIGINT NOT NULL,
+    item_id BIGINT NOT NULL,
+    owner_id BIGINT NOT NULL,
+    booker_id BIGINT NOT NULL,
+    start_date TIMESTAMP WITH TIME ZONE,
+    end_date TIMESTAMP WITH TIME ZONE,
+    created TIMESTAMP WITH TIME ZONE NOT NULL,
+    published TIMESTAMP WITH TIME ZONE,
+    CONSTRAINT pk_booking_event PRIMARY KEY (id)
+);
+
+CREATE INDEX idx_booking_events_published ON booking_events (published, id);
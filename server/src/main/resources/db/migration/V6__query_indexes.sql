@@ -0,0 +1,28 @@
+-- Индексы под запросы BookingSpecification, стратегий состояний и репозиториев.
+
+-- Страницы бронирований booker-а: booker_id, порядок start_date DESC, id DESC (курсор afterCursor)
+CREATE INDEX idx_bookings_booker_start ON bookings (booker_id, start_date DESC, id DESC);
+
+-- Страницы бронирований владельца и вещи: item_id (после idx_items_user_id), тот же порядок
+CREATE INDEX idx_bookings_item_start ON bookings (item_id, start_date DESC, id DESC);
+
+-- Последнее/следующее одобренное бронирование вещи и проверка пересечений
+CREATE INDEX idx_bookings_item_status_start ON bookings (item_id, status, start_date);
+
+-- Вещи ответов на запрос
+CREATE INDEX idx_items_request_id ON items (request_id);
+
+-- Вещи владельца по возрастанию id
+CREATE INDEX idx_items_user_id ON items (user_id, id);
+
+-- Запросы автора по убыванию id
+CREATE INDEX idx_item_requests_author_id ON item_requests (author_id, id);
+
+CREATE INDEX idx_comments_item_id ON comments (item_id);
+
+-- Каскадное удаление User
+CREATE INDEX idx_comments_author_id ON comments (author_id);
+
+-- Пересчёт сводок после удаления booker-а
+CREATE INDEX idx_item_booking_summaries_last_booker ON item_booking_summaries (last_booker_id);
+CREATE INDEX idx_item_booking_summaries_next_booker ON item_booking_summaries (next_booker_id);
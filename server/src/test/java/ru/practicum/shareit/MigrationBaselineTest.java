@@ -0,0 +1,49 @@
+package ru.practicum.shareit;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfo;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * База, созданная прежним schema.sql, отмечается версией 1 и должна получить все последующие миграции.
+ */
+class MigrationBaselineTest {
+
+    @Test
+    void migrateDatabaseCreatedBySchemaSql() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:baseline;MODE=PostgreSQL;DB_CLOSE_DELAY=-1", "sa", "");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__init_schema.sql"))
+                .execute(dataSource);
+
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+
+        List<String> applied = Arrays.stream(flyway.info().applied())
+                .map(MigrationInfo::getVersion)
+                .map(Object::toString)
+                .collect(Collectors.toList());
+        assertEquals(List.of("1", "2", "3", "4", "5", "6"), applied);
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.update("INSERT INTO users (id, name, email) VALUES (NEXT VALUE FOR users_seq, 'user', 'u@mail.ru')");
+        assertEquals(0L, jdbcTemplate.queryForObject("SELECT version FROM users", Long.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM item_booking_summaries", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM booking_events", Integer.class));
+        jdbcTemplate.execute("SHUTDOWN");
+    }
+}
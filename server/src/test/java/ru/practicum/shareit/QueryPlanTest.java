@@ -0,0 +1,179 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.function.ThrowingSupplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.State;
+import ru.practicum.shareit.booking.util.StateFactory;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.item.repository.CommentRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.SqlStatements;
+import ru.practicum.shareit.request.repository.ItemRequestRepository;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Проверяет по EXPLAIN, что SQL, который Hibernate строит для частых запросов, использует индексы из миграций.
+ * H2 строит план без значений параметров и сама индексирует внешние ключи, поэтому составной индекс
+ * проверяется по имени там, где он покрывает больше условий запроса, а поиск по одному внешнему ключу -
+ * по отсутствию полного просмотра таблицы (на PostgreSQL его обслуживают индексы из V6__query_indexes.sql).
+ * Оценки стоимости H2 на пустых таблицах одинаковы для всех индексов, поэтому таблицы заполняются
+ * и по ним собирается статистика; контекст после класса пересоздаётся.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class QueryPlanTest {
+
+    private static final long OFFSET = 1_000_000;
+
+    private static final Sort BOOKING_ORDER = Sort.by(Sort.Direction.DESC, "startDate", "id");
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private StateFactory stateFactory;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private ItemRequestRepository itemRequestRepository;
+
+    @BeforeAll
+    void fillTables() {
+        jdbcTemplate.update("INSERT INTO users (id, name, email) " +
+                "SELECT X + ?, 'User ' || X, 'plan' || X || '@example.com' FROM SYSTEM_RANGE(1, 200)", OFFSET);
+        jdbcTemplate.update("INSERT INTO item_requests (id, description, created, author_id) " +
+                "SELECT X + ?, 'Request ' || X, CURRENT_TIMESTAMP, MOD(X, 200) + 1 + ? FROM SYSTEM_RANGE(1, 500)",
+                OFFSET, OFFSET);
+        jdbcTemplate.update("INSERT INTO items (id, user_id, name, description, is_available, request_id) " +
+                "SELECT X + ?, MOD(X, 200) + 1 + ?, 'Item ' || X, 'Item ' || X, TRUE, " +
+                "CASE WHEN MOD(X, 4) = 0 THEN MOD(X, 500) + 1 + ? END FROM SYSTEM_RANGE(1, 2000)",
+                OFFSET, OFFSET, OFFSET);
+        jdbcTemplate.update("INSERT INTO bookings (id, start_date, end_date, status, booker_id, item_id) " +
+                "SELECT X + ?, DATEADD(HOUR, X, TIMESTAMP WITH TIME ZONE '2020-01-01 00:00:00+00'), " +
+                "DATEADD(HOUR, X + 2, TIMESTAMP WITH TIME ZONE '2020-01-01 00:00:00+00'), " +
+                "CASE MOD(X, 4) WHEN 0 THEN 'WAITING' WHEN 1 THEN 'REJECTED' ELSE 'APPROVED' END, " +
+                "MOD(X, 200) + 1 + ?, MOD(X * 7, 2000) + 1 + ? FROM SYSTEM_RANGE(1, 20000)",
+                OFFSET, OFFSET, OFFSET);
+        jdbcTemplate.update("INSERT INTO comments (id, text, author_id, item_id, created) " +
+                "SELECT X + ?, 'Comment ' || X, MOD(X, 200) + 1 + ?, MOD(X, 2000) + 1 + ?, CURRENT_TIMESTAMP " +
+                "FROM SYSTEM_RANGE(1, 5000)", OFFSET, OFFSET, OFFSET);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @Test
+    void testBookerBookingsUseBookerIndex() throws Throwable {
+        assertNoTableScan("bookings", () -> stateFactory.findStrategy(State.ALL)
+                .findBookings(1L, null, PageRequest.of(0, 10, BOOKING_ORDER)));
+        assertUsesIndex("idx_bookings_booker_start", () -> stateFactory.findStrategy(State.FUTURE)
+                .findBookings(1L, null, PageRequest.of(0, 10, BOOKING_ORDER)));
+    }
+
+    @Test
+    void testOwnerBookingsUseItemIndexes() throws Throwable {
+        ThrowingSupplier<Object> call = () -> stateFactory.findStrategy(State.FUTURE)
+                .findBookingsByOwnerId(1L, null, PageRequest.of(0, 10, BOOKING_ORDER));
+
+        assertNoTableScan("items", call);
+        assertUsesIndex("idx_bookings_item_", call);
+    }
+
+    @Test
+    void testLastAndNextBookingsUseItemStatusIndex() throws Throwable {
+        assertUsesIndex("idx_bookings_item_status_start",
+                () -> bookingRepository.findLastBookings(List.of(1L), Status.APPROVED, LocalDateTime.now()));
+        assertUsesIndex("idx_bookings_item_status_start",
+                () -> bookingRepository.findNextBookings(List.of(1L), Status.APPROVED, LocalDateTime.now()));
+    }
+
+    @Test
+    void testOverlapCheckUsesItemStatusIndex() throws Throwable {
+        assertUsesIndex("idx_bookings_item_status_start", () -> bookingRepository.existsOverlapping(1L,
+                LocalDateTime.now(), LocalDateTime.now().plusDays(1), List.of(Status.WAITING, Status.APPROVED)));
+    }
+
+    @Test
+    void testOwnerItemsAvoidTableScan() throws Throwable {
+        assertNoTableScan("items", () -> itemRepository.findViewsByUserId(1L,
+                PageRequest.of(0, 10, Sort.Direction.ASC, "id")));
+    }
+
+    @Test
+    void testItemCommentsAvoidTableScan() throws Throwable {
+        assertNoTableScan("comments", () -> commentRepository.findViewsByItemIdIn(List.of(1L)));
+    }
+
+    @Test
+    void testAuthorRequestsAvoidTableScan() throws Throwable {
+        assertNoTableScan("item_requests", () -> itemRequestRepository.findAllByAuthorId(1L,
+                PageRequest.of(0, 10, Sort.Direction.DESC, "id")));
+        assertNoTableScan("item_requests", () -> itemRepository.findAllByItemRequestAuthorId(1L));
+    }
+
+    private void assertUsesIndex(String index, ThrowingSupplier<?> call) throws Throwable {
+        var plans = explain(call);
+        if (plans.stream().noneMatch(plan -> plan.contains(index))) {
+            fail(String.format("Ни один план не использует %s:%n%s", index,
+                    String.join(System.lineSeparator(), plans)));
+        }
+    }
+
+    private void assertNoTableScan(String table, ThrowingSupplier<?> call) throws Throwable {
+        var plans = explain(call);
+        if (plans.stream().anyMatch(plan -> plan.contains("public." + table + ".tablescan"))) {
+            fail(String.format("Полный просмотр таблицы %s:%n%s", table,
+                    String.join(System.lineSeparator(), plans)));
+        }
+    }
+
+    private List<String> explain(ThrowingSupplier<?> call) throws Throwable {
+        var statements = SqlStatements.record(call).getStatements();
+        assertFalse(statements.isEmpty(), "Вызов не выполнил ни одного SQL-запроса");
+        return explain(statements).stream()
+                .map(plan -> plan.toLowerCase(Locale.ROOT))
+                .collect(Collectors.toList());
+    }
+
+    private List<String> explain(List<String> statements) throws Exception {
+        List<String> plans = new ArrayList<>();
+        try (var connection = dataSource.getConnection()) {
+            for (var sql : statements) {
+                try (var statement = connection.prepareStatement("EXPLAIN " + sql);
+                     var resultSet = statement.executeQuery()) {
+                    resultSet.next();
+                    plans.add(resultSet.getString(1));
+                }
+            }
+        }
+        return plans;
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking.availability;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BookingIntervalIndexTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 12, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(bookingRepository.findActiveIntervals(anyCollection(), any(), any())).thenReturn(List.of(
+                interval(1L, 10L, 3L, 0, 2),
+                interval(2L, 10L, 4L, 5, 7),
+                interval(3L, 20L, 4L, 0, 10)));
+        bookingIntervalIndex = indexAt(hours(-1));
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(bookingIntervalIndex.overlaps(10L, hours(1), hours(3)));
+        assertTrue(bookingIntervalIndex.overlaps(20L, hours(9), hours(12)));
+        assertFalse(bookingIntervalIndex.overlaps(30L, hours(0), hours(100)));
+    }
+
+    @Test
+    void testOverlapsIsHalfOpen() {
+        assertFalse(bookingIntervalIndex.overlaps(10L, hours(2), hours(5)));
+        assertTrue(bookingIntervalIndex.overlaps(10L, hours(4), hours(6)));
+        assertTrue(bookingIntervalIndex.overlaps(10L, hours(-1), hours(10)));
+    }
+
+    @Test
+    void testAddAndRemove() {
+        bookingIntervalIndex.add(interval(4L, 10L, 3L, 2, 5));
+        assertTrue(bookingIntervalIndex.overlaps(10L, hours(3), hours(4)));
+
+        bookingIntervalIndex.remove(10L, 4L);
+        assertFalse(bookingIntervalIndex.overlaps(10L, hours(3), hours(4)));
+    }
+
+    @Test
+    void testRemoveByUser() {
+        bookingIntervalIndex.onUserDeleted(new UserDeletedEvent(4L));
+
+        assertTrue(bookingIntervalIndex.overlaps(10L, hours(1), hours(3)));
+        assertFalse(bookingIntervalIndex.overlaps(10L, hours(5), hours(7)));
+        assertFalse(bookingIntervalIndex.overlaps(20L, hours(0), hours(10)));
+    }
+
+    @Test
+    void testPruneDropsEndedIntervals() {
+        bookingIntervalIndex = indexAt(hours(7));
+
+        bookingIntervalIndex.prune();
+
+        assertFalse(bookingIntervalIndex.overlaps(10L, hours(0), hours(7)));
+        assertTrue(bookingIntervalIndex.overlaps(20L, hours(8), hours(9)));
+    }
+
+    @Test
+    void testTreeMatchesLinearScan() {
+        Random random = new Random(7);
+        IntervalTree tree = new IntervalTree();
+        List<BookingInterval> intervals = new ArrayList<>();
+        for (long id = 1; id <= 500; id++) {
+            int start = random.nextInt(1000);
+            BookingInterval interval = interval(id, 1L, 1L, start, start + 1 + random.nextInt(20));
+            intervals.add(interval);
+            tree.insert(interval);
+        }
+        for (int i = 0; i < 200; i++) {
+            BookingInterval removed = intervals.remove(random.nextInt(intervals.size()));
+            assertTrue(tree.remove(removed));
+        }
+        assertEquals(intervals.size(), tree.size());
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(1000);
+            LocalDateTime from = hours(start);
+            LocalDateTime to = hours(start + 1 + random.nextInt(10));
+            boolean expected = intervals.stream().anyMatch(interval -> interval.overlaps(from, to));
+            assertEquals(expected, tree.overlaps(from, to));
+        }
+    }
+
+    private BookingIntervalIndex indexAt(LocalDateTime now) {
+        var index = new BookingIntervalIndex(bookingRepository,
+                Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()));
+        index.rebuild();
+        return index;
+    }
+
+    private static BookingInterval interval(Long bookingId, Long itemId, Long bookerId, int startHour, int endHour) {
+        return new BookingInterval(bookingId, itemId, 1L, bookerId, hours(startHour), hours(endHour));
+    }
+
+    private static LocalDateTime hours(int hours) {
+        return BASE.plusHours(hours);
+    }
+}
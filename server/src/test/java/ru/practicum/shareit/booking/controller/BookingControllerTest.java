@@ -1,12 +1,14 @@
 package ru.practicum.shareit.booking.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.booking.dto.BookingRequest;
@@ -28,6 +30,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(BookingController.class)
+@Import(SimpleMeterRegistry.class)
 class BookingControllerTest {
 
     @Autowired
@@ -102,7 +105,7 @@ class BookingControllerTest {
     @Test
     void testGetAllUserBookings() throws Exception {
         List<BookingResponse> mockBookings = Arrays.asList(mockBookingResponse);
-        when(bookingService.getAllUserBookings(anyLong(), anyString(), any(), any())).thenReturn(mockBookings);
+        when(bookingService.getAllUserBookings(anyLong(), anyString(), any(), any(), any(), any())).thenReturn(mockBookings);
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
@@ -117,7 +120,7 @@ class BookingControllerTest {
     @Test
     void testGetAllOwnerBookings() throws Exception {
         List<BookingResponse> mockBookings = Arrays.asList(mockBookingResponse);
-        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), any(), any())).thenReturn(mockBookings);
+        when(bookingService.getAllOwnerBookings(anyLong(), anyString(), any(), any(), any(), any())).thenReturn(mockBookings);
 
         mockMvc.perform(get("/bookings/owner")
                         .header("X-Sharer-User-Id", 1L)
@@ -161,7 +164,7 @@ class BookingControllerTest {
 
     @Test
     void testGetAllUserBookingsItemException() throws Exception {
-        when(bookingService.getAllUserBookings(anyLong(), anyString(), any(), any())).thenThrow(new ItemException("Item exception"));
+        when(bookingService.getAllUserBookings(anyLong(), anyString(), any(), any(), any(), any())).thenThrow(new ItemException("Item exception"));
 
         mockMvc.perform(get("/bookings")
                         .header("X-Sharer-User-Id", 1L)
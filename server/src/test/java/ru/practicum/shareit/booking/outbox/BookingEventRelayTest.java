@@ -0,0 +1,80 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BookingEventRelayTest {
+
+    @Mock
+    private BookingEventRepository bookingEventRepository;
+
+    @Mock
+    private BookingEventSink sink;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private final LocalDateTime now = LocalDateTime.of(2024, 1, 10, 12, 0);
+
+    private BookingEventRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+        relay = new BookingEventRelay(bookingEventRepository, sink, transactionTemplate,
+                Clock.fixed(now.atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault()),
+                2, Duration.ofDays(7));
+    }
+
+    @Test
+    void testRelayPublishesUntilBatchIsNotFull() {
+        var first = List.of(event(1L), event(2L));
+        var second = List.of(event(3L));
+        when(bookingEventRepository.findUnpublished(2)).thenReturn(first, second);
+
+        relay.relay();
+
+        verify(sink).publish(first);
+        verify(sink).publish(second);
+        verify(bookingEventRepository).markPublished(List.of(1L, 2L), now);
+        verify(bookingEventRepository).markPublished(List.of(3L), now);
+    }
+
+    @Test
+    void testRelayKeepsEventsWhenSinkFails() {
+        var events = List.of(event(1L));
+        when(bookingEventRepository.findUnpublished(2)).thenReturn(events);
+        doThrow(new IllegalStateException("broker is down")).when(sink).publish(events);
+
+        relay.relay();
+
+        verify(bookingEventRepository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    void testPurgeDeletesEventsPublishedBeforeRetention() {
+        relay.purge();
+
+        verify(bookingEventRepository).deletePublishedBefore(now.minusDays(7));
+    }
+
+    private static BookingEvent event(Long id) {
+        return BookingEvent.builder().id(id).type(BookingEventType.CREATED).build();
+    }
+}
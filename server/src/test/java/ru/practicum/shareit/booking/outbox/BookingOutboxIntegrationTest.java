@@ -0,0 +1,70 @@
+package ru.practicum.shareit.booking.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingRequest;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.outbox.sink=memory")
+class BookingOutboxIntegrationTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingEventRelay relay;
+
+    @Autowired
+    private InMemoryBookingEventSink sink;
+
+    @Autowired
+    private BookingEventRepository bookingEventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Test
+    void testBookingChangesAreRelayedToSink() throws Exception {
+        var owner = userRepository.save(User.builder().name("Owner").email("outbox.owner@example.com").build());
+        var booker = userRepository.save(User.builder().name("Booker").email("outbox.booker@example.com").build());
+        var item = itemRepository.save(Item.builder().name("Tent").description("Big tent")
+                .user(owner).isAvailable(true).build());
+        var request = new BookingRequest();
+        request.setItemId(item.getId());
+        request.setStartDate(LocalDateTime.now().plusDays(1));
+        request.setEndDate(LocalDateTime.now().plusDays(2));
+
+        var booking = bookingService.addBooking(request, booker.getId());
+        bookingService.updateBookingStatus(owner.getId(), booking.getId(), true);
+        relay.relay();
+
+        var events = sink.drain().stream()
+                .filter(event -> event.getBookingId().equals(booking.getId()))
+                .collect(Collectors.toList());
+        assertEquals(List.of(BookingEventType.CREATED, BookingEventType.APPROVED),
+                events.stream().map(BookingEvent::getType).collect(Collectors.toList()));
+        assertEquals(owner.getId(), events.get(0).getOwnerId());
+        assertEquals(booker.getId(), events.get(0).getBookerId());
+        assertTrue(bookingEventRepository.findAllById(events.stream()
+                        .map(BookingEvent::getId)
+                        .collect(Collectors.toList())).stream()
+                .allMatch(event -> event.getPublished() != null));
+
+        relay.relay();
+        assertTrue(sink.drain().isEmpty());
+    }
+}
@@ -4,24 +4,42 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.booking.availability.BookingInterval;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.util.BookingCursor;
 import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.cache.EntityCacheConfiguration;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import javax.persistence.EntityManager;
 import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.afterCursor;
 import static ru.practicum.shareit.booking.repository.BookingSpecification.byBookerId;
-import static ru.practicum.shareit.booking.repository.BookingSpecification.byItemIds;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.byOwnerId;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.endDateIsAfter;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.endDateIsBefore;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.startDateIsAfter;
+import static ru.practicum.shareit.booking.repository.BookingSpecification.startDateIsBefore;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(EntityCacheConfiguration.class)
 class BookingRepositoryTest {
 
     @Autowired
@@ -31,20 +49,21 @@ class BookingRepositoryTest {
     private EntityManager entityManager;
 
     @Test
-    void testUpdateBookingStatus() {
-        User booker = createUser("John Doe", "john.doe@example.com");
-        Item item = createItem(booker, "Drill", "Cordless drill", true);
-
-        Booking booking = createBooking(booker, item, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), Status.WAITING);
-        bookingRepository.save(booking);
-        entityManager.flush();
-
-        bookingRepository.updateBookingStatus(booking.getId(), Status.APPROVED);
+    void testFindAllByIdInAndItemUserId() {
+        User owner = createUser("Paul Owner", "paul.owner@example.com");
+        User booker = createUser("Lisa Booker", "lisa.booker@example.com");
+        Item item = createItem(owner, "Kayak", "Two-seat kayak", true);
+        Item otherItem = createItem(booker, "Paddle", "Spare paddle", true);
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+        Booking first = createBooking(booker, item, start, start.plusDays(1), Status.WAITING);
+        Booking second = createBooking(booker, item, start.plusDays(2), start.plusDays(3), Status.WAITING);
+        Booking foreign = createBooking(owner, otherItem, start, start.plusDays(1), Status.WAITING);
         entityManager.flush();
-        entityManager.clear();
 
-        Booking updatedBooking = bookingRepository.findById(booking.getId()).orElseThrow();
-        assertEquals(Status.APPROVED, updatedBooking.getStatus());
+        List<Booking> owned = bookingRepository.findAllByIdInAndItemUserId(
+                List.of(first.getId(), second.getId(), foreign.getId()), owner.getId());
+        assertEquals(2, owned.size());
+        assertTrue(owned.stream().allMatch(b -> b.getItem().getUser().getId().equals(owner.getId())));
     }
 
     @Test
@@ -65,20 +84,104 @@ class BookingRepositoryTest {
     }
 
     @Test
-    void testFindAllByItemIds() {
-        User booker = createUser("Alice Smith", "alice.smith@example.com");
-        Item item1 = createItem(booker, "Drill", "Cordless drill", true);
-        Item item2 = createItem(booker, "Saw", "Electric saw", true);
+    void testFindAllByOwnerId() {
+        User owner = createUser("Owner Smith", "owner.smith@example.com");
+        User otherOwner = createUser("Other Owner", "other.owner@example.com");
+        User booker = createUser("Booker Smith", "booker.smith@example.com");
+        Item item1 = createItem(owner, "Drill", "Cordless drill", true);
+        Item item2 = createItem(owner, "Saw", "Electric saw", true);
+        Item otherItem = createItem(otherOwner, "Hammer", "Heavy-duty hammer", true);
 
         Booking booking1 = createBooking(booker, item1, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), Status.APPROVED);
-        Booking booking2 = createBooking(booker, item2, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4), Status.REJECTED);
-        bookingRepository.saveAll(List.of(booking1, booking2));
+        Booking booking2 = createBooking(booker, item2, LocalDateTime.now().plusDays(3), LocalDateTime.now().plusDays(4), Status.WAITING);
+        createBooking(booker, otherItem, LocalDateTime.now().plusDays(1), LocalDateTime.now().plusDays(2), Status.APPROVED);
         entityManager.flush();
 
-        List<Booking> bookings = bookingRepository.findAll(byItemIds(List.of(item1.getId(), item2.getId())));
-        assertEquals(2, bookings.size());
-        assertTrue(bookings.contains(booking1));
-        assertTrue(bookings.contains(booking2));
+        List<Booking> bookings = bookingRepository.findAll(byOwnerId(owner.getId()));
+        assertEquals(List.of(booking2, booking1), bookings);
+    }
+
+    @Test
+    void testFindViewsWithCursor() {
+        User booker = createUser("Bob Stone", "bob.stone@example.com");
+        Item item = createItem(booker, "Ladder", "Tall ladder", true);
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+
+        Booking booking1 = createBooking(booker, item, start, start.plusDays(1), Status.APPROVED);
+        Booking booking2 = createBooking(booker, item, start.plusDays(2), start.plusDays(3), Status.APPROVED);
+        Booking booking3 = createBooking(booker, item, start.plusDays(4), start.plusDays(5), Status.WAITING);
+        entityManager.flush();
+        Pageable pageable = PageRequest.of(0, 2, Sort.by(Sort.Direction.DESC, "startDate", "id"));
+
+        List<BookingView> firstPage = bookingRepository.findViews(byBookerId(booker.getId()), pageable);
+        assertEquals(List.of(booking3.getId(), booking2.getId()), ids(firstPage));
+
+        BookingView last = firstPage.get(firstPage.size() - 1);
+        List<BookingView> secondPage = bookingRepository.findViews(byBookerId(booker.getId())
+                .and(afterCursor(new BookingCursor(last.getStartDate(), last.getId()))), pageable);
+        assertEquals(List.of(booking1.getId()), ids(secondPage));
+    }
+
+    @Test
+    void testExistsOverlapping() {
+        User owner = createUser("Kate Owner", "kate.owner@example.com");
+        User booker = createUser("Tom Booker", "tom.booker@example.com");
+        Item item = createItem(owner, "Tent", "Big tent", true);
+        LocalDateTime start = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS).plusDays(1);
+        createBooking(booker, item, start, start.plusDays(2), Status.APPROVED);
+        createBooking(booker, item, start.plusDays(4), start.plusDays(5), Status.REJECTED);
+        entityManager.flush();
+
+        assertTrue(bookingRepository.existsOverlapping(item.getId(), start.plusDays(1), start.plusDays(3),
+                BookingIntervalIndex.ACTIVE_STATUSES));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), start.plusDays(2), start.plusDays(3),
+                BookingIntervalIndex.ACTIVE_STATUSES));
+        assertFalse(bookingRepository.existsOverlapping(item.getId(), start.plusDays(4), start.plusDays(5),
+                BookingIntervalIndex.ACTIVE_STATUSES));
+    }
+
+    @Test
+    void testFindActiveIntervals() {
+        User owner = createUser("Ann Owner", "ann.owner@example.com");
+        User booker = createUser("Max Booker", "max.booker@example.com");
+        Item item = createItem(owner, "Kayak", "Two-seat kayak", true);
+        LocalDateTime now = LocalDateTime.now();
+        createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking active = createBooking(booker, item, now.plusDays(1), now.plusDays(2), Status.WAITING);
+        createBooking(booker, item, now.plusDays(3), now.plusDays(4), Status.REJECTED);
+        entityManager.flush();
+
+        List<BookingInterval> intervals = bookingRepository.findActiveIntervals(
+                BookingIntervalIndex.ACTIVE_STATUSES, now, PageRequest.of(0, 10));
+
+        assertEquals(1, intervals.size());
+        assertEquals(active.getId(), intervals.get(0).getBookingId());
+        assertEquals(owner.getId(), intervals.get(0).getOwnerId());
+        assertEquals(booker.getId(), intervals.get(0).getBookerId());
+    }
+
+    @Test
+    void testTimePredicatesUseGivenNow() {
+        User owner = createUser("Eva Owner", "eva.owner@example.com");
+        User booker = createUser("Leo Booker", "leo.booker@example.com");
+        Item item = createItem(owner, "Camera", "Film camera", true);
+        LocalDateTime now = LocalDateTime.of(2020, 1, 10, 12, 0);
+        Booking past = createBooking(booker, item, now.minusDays(3), now.minusDays(2), Status.APPROVED);
+        Booking current = createBooking(booker, item, now.minusDays(1), now.plusDays(1), Status.APPROVED);
+        Booking future = createBooking(booker, item, now.plusDays(2), now.plusDays(3), Status.APPROVED);
+        entityManager.flush();
+
+        assertEquals(List.of(past), bookingRepository.findAll(byBookerId(booker.getId())
+                .and(endDateIsBefore(now))));
+        assertEquals(List.of(current), bookingRepository.findAll(byBookerId(booker.getId())
+                .and(startDateIsBefore(now))
+                .and(endDateIsAfter(now))));
+        assertEquals(List.of(future), bookingRepository.findAll(byBookerId(booker.getId())
+                .and(startDateIsAfter(now))));
+    }
+
+    private static List<Long> ids(List<BookingView> views) {
+        return views.stream().map(BookingView::getId).collect(Collectors.toList());
     }
 
     private User createUser(String name, String email) {
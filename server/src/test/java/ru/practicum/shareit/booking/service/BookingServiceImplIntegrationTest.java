@@ -6,6 +6,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.booking.dto.BookingResponse;
@@ -16,9 +17,12 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.QueryCountInspector;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -42,6 +46,9 @@ class BookingServiceImplIntegrationTest {
     @Autowired
     private BookingRepository bookingRepository;
 
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private User owner;
     private User booker;
     private Item item;
@@ -59,9 +66,23 @@ class BookingServiceImplIntegrationTest {
         bookingRepository.saveAndFlush(booking);
     }
 
+    @Test
+    void testUpdateBookingStatusStaleVersion() {
+        var waiting = bookingRepository.saveAndFlush(createBooking(booker, item, Status.WAITING,
+                LocalDateTime.now().plusDays(5), LocalDateTime.now().plusDays(6)));
+        entityManager.createQuery("UPDATE Booking b SET b.status = :status, b.version = b.version + 1 " +
+                        "WHERE b.id = :bookingId")
+                .setParameter("status", Status.REJECTED)
+                .setParameter("bookingId", waiting.getId())
+                .executeUpdate();
+
+        assertThrows(ObjectOptimisticLockingFailureException.class,
+                () -> bookingService.updateBookingStatus(owner.getId(), waiting.getId(), true));
+    }
+
     @Test
     void testGetAllOwnerBookings() throws NotFoundException, StateException {
-        List<BookingResponse> bookings = bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10);
+        List<BookingResponse> bookings = bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10, null, null);
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(booking.getId(), bookings.get(0).getId());
@@ -69,17 +90,42 @@ class BookingServiceImplIntegrationTest {
 
     @Test
     void testGetAllOwnerBookingsWithState() throws NotFoundException, StateException {
-        List<BookingResponse> bookings = bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10);
+        List<BookingResponse> bookings = bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10, null, null);
 
         assertNotNull(bookings);
         assertEquals(1, bookings.size());
         assertEquals(Status.APPROVED, bookings.get(0).getStatus());
     }
 
+    @Test
+    void testGetAllOwnerBookingsSingleQuery() throws NotFoundException, StateException {
+        bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10, null, null);
+        QueryCountInspector.reset();
+
+        List<BookingResponse> bookings = bookingService.getAllOwnerBookings(owner.getId(), "ALL", 0, 10, null, null);
+
+        assertEquals(1, QueryCountInspector.getCount());
+        assertEquals(booker.getId(), bookings.get(0).getBooker().getUserId());
+        assertEquals(item.getId(), bookings.get(0).getItem().getBookingItemId());
+        assertEquals("Drill", bookings.get(0).getItem().getName());
+    }
+
+    @Test
+    void testGetBookingSingleQuery() throws NotFoundException {
+        entityManager.clear();
+        QueryCountInspector.reset();
+
+        BookingResponse response = bookingService.getBooking(owner.getId(), booking.getId());
+
+        assertEquals(1, QueryCountInspector.getCount());
+        assertEquals("Drill", response.getItem().getName());
+        assertEquals(booker.getId(), response.getBooker().getUserId());
+    }
+
     @Test
     void testGetAllOwnerBookingsNotFound() {
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
-            bookingService.getAllOwnerBookings(999L, "ALL", 0, 10);
+            bookingService.getAllOwnerBookings(999L, "ALL", 0, 10, null, null);
         });
 
         assertEquals("USER с id 999 не существует", thrown.getMessage());
@@ -88,7 +134,7 @@ class BookingServiceImplIntegrationTest {
     @Test
     void testGetAllOwnerBookingsStateException() {
         StateException thrown = assertThrows(StateException.class, () -> {
-            bookingService.getAllOwnerBookings(owner.getId(), "INVALID_STATE", 0, 10);
+            bookingService.getAllOwnerBookings(owner.getId(), "INVALID_STATE", 0, 10, null, null);
         });
 
         assertEquals("Unknown state: INVALID_STATE", thrown.getMessage());
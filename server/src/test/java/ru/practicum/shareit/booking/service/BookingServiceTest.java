@@ -3,16 +3,23 @@ package ru.practicum.shareit.booking.service;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.booking.availability.BookingIntervalIndex;
 import ru.practicum.shareit.booking.dto.BookerResponse;
 import ru.practicum.shareit.booking.dto.BookingItemResponse;
 import ru.practicum.shareit.booking.dto.BookingRequest;
 import ru.practicum.shareit.booking.dto.BookingResponse;
+import ru.practicum.shareit.booking.dto.BookingStatusRequest;
+import ru.practicum.shareit.booking.dto.BookingStatusResponse;
+import ru.practicum.shareit.booking.dto.BookingView;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.outbox.BookingEventType;
+import ru.practicum.shareit.booking.outbox.BookingOutbox;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.booking.util.State;
 import ru.practicum.shareit.booking.util.StateFactory;
@@ -23,15 +30,21 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemBookingSummaryService;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -41,7 +54,7 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
 
     @Mock
     private ItemRepository itemRepository;
@@ -52,6 +65,15 @@ class BookingServiceTest {
     @Mock
     private BookingMapper bookingMapper;
 
+    @Mock
+    private BookingIntervalIndex bookingIntervalIndex;
+
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Mock
+    private BookingOutbox bookingOutbox;
+
     @InjectMocks
     private BookingServiceImpl bookingService;
 
@@ -62,6 +84,7 @@ class BookingServiceTest {
     private Booking updateBooking;
     private BookingRequest bookingRequest;
     private BookingResponse bookingResponse;
+    private BookingView bookingView;
 
     @BeforeEach
     void setUp() {
@@ -85,6 +108,9 @@ class BookingServiceTest {
         booking.setBooker(user);
         booking.setStatus(Status.WAITING);
 
+        bookingView = new BookingView(booking.getId(), LocalDateTime.now(), LocalDateTime.now().plusDays(1),
+                Status.WAITING, user.getId(), item.getId(), item.getName());
+
         updateBooking = new Booking();
         updateBooking.setId(3L);
         updateBooking.setItem(item);
@@ -93,6 +119,8 @@ class BookingServiceTest {
 
         bookingRequest = new BookingRequest();
         bookingRequest.setItemId(item.getId());
+        bookingRequest.setStartDate(LocalDateTime.now().plusDays(1));
+        bookingRequest.setEndDate(LocalDateTime.now().plusDays(2));
 
         BookerResponse bookerResponse = new BookerResponse();
         bookerResponse.setUserId(2L);
@@ -109,7 +137,7 @@ class BookingServiceTest {
 
     @Test
     void testAddBookingUserNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 bookingService.addBooking(bookingRequest, 1L));
@@ -120,8 +148,8 @@ class BookingServiceTest {
     @Test
     void testAddBookingItemNotFound() {
         item.setIsAvailable(false);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         ItemException exception = assertThrows(ItemException.class, () ->
                 bookingService.addBooking(bookingRequest, 1L));
@@ -131,8 +159,8 @@ class BookingServiceTest {
 
     @Test
     void testAddBookingSelfItem() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 bookingService.addBooking(bookingRequest, 1L));
@@ -142,8 +170,8 @@ class BookingServiceTest {
 
     @Test
     void testAddBooking() throws Exception {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
         when(bookingMapper.fromDto(any(BookingRequest.class), any(), any(), any())).thenReturn(booking);
         when(bookingRepository.saveAndFlush(any(Booking.class))).thenReturn(booking);
         when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
@@ -152,11 +180,37 @@ class BookingServiceTest {
 
         assertNotNull(response);
         assertEquals(booking.getId(), response.getId());
+        verify(bookingIntervalIndex).add(any());
+        verify(bookingOutbox).append(eq(BookingEventType.CREATED), any());
+    }
+
+    @Test
+    void testAddBookingOverlapping() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(bookingIntervalIndex.overlaps(item.getId(), bookingRequest.getStartDate(), bookingRequest.getEndDate()))
+                .thenReturn(true);
+
+        ItemException exception = assertThrows(ItemException.class, () ->
+                bookingService.addBooking(bookingRequest, booker.getId()));
+
+        assertEquals("ITEM с id 1 уже забронирован на это время", exception.getMessage());
+        verify(bookingRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void testAddBookingOverlappingInDatabase() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(itemRepository.findByIdForUpdate(anyLong())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(eq(item.getId()), any(), any(), any())).thenReturn(true);
+
+        assertThrows(ItemException.class, () -> bookingService.addBooking(bookingRequest, booker.getId()));
+        verify(bookingRepository, never()).saveAndFlush(any());
     }
 
     @Test
     void testGetBooking() throws Exception {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.of(booking));
         when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
 
         BookingResponse response = bookingService.getBooking(1L, 1L);
@@ -167,7 +221,7 @@ class BookingServiceTest {
 
     @Test
     void testNotFoundGetBooking() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 bookingService.getBooking(1L, 1L));
@@ -179,11 +233,11 @@ class BookingServiceTest {
     void testGetAllBookings() throws NotFoundException, StateException {
         StateStrategy strategy = mock(StateStrategy.class);
         when(stateFactory.findStrategy(any(State.class))).thenReturn(strategy);
-        when(strategy.findBookings(anyLong(), any(Pageable.class))).thenReturn(List.of(booking));
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(strategy.findBookings(anyLong(), any(), any(Pageable.class))).thenReturn(List.of(bookingView));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
 
 
-        List<BookingResponse> responses = bookingService.getAllUserBookings(1L, "ALL", 0, 10);
+        List<BookingResponse> responses = bookingService.getAllUserBookings(1L, "ALL", 0, 10, null, null);
 
         assertNotNull(responses);
         assertFalse(responses.isEmpty());
@@ -192,31 +246,39 @@ class BookingServiceTest {
 
     @Test
     void testGetAllBookingsSize0() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
 
         ArithmeticException exception = assertThrows(ArithmeticException.class, () ->
-                bookingService.getAllUserBookings(1L, "ALL", 0, 0));
+                bookingService.getAllUserBookings(1L, "ALL", 0, 0, null, null));
     }
 
     @Test
     void testUserNotFoundGetAllBookings() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
-                bookingService.getAllUserBookings(1L, "ALL", 0, 10));
+                bookingService.getAllUserBookings(1L, "ALL", 0, 10, null, null));
 
         assertEquals("USER с id 1 не существует", exception.getMessage());
     }
 
+    @Test
+    void testGetAllBookingsIncompleteCursor() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+
+        assertThrows(StateException.class, () ->
+                bookingService.getAllUserBookings(1L, "ALL", 0, 10, LocalDateTime.now(), null));
+    }
+
     @Test
     void testGetAllOwnerBookings() throws Exception {
         StateStrategy strategy = mock(StateStrategy.class);
         when(stateFactory.findStrategy(any(State.class))).thenReturn(strategy);
-        when(strategy.findBookingsByItemIds(anyList(), any(Pageable.class))).thenReturn(List.of(booking));
-        when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(strategy.findBookingsByOwnerId(anyLong(), any(), any(Pageable.class))).thenReturn(List.of(bookingView));
+        when(bookingMapper.toDto(any(BookingView.class))).thenReturn(bookingResponse);
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
 
-        List<BookingResponse> responses = bookingService.getAllOwnerBookings(1L, "ALL", 0, 10);
+        List<BookingResponse> responses = bookingService.getAllOwnerBookings(1L, "ALL", 0, 10, null, null);
 
         assertNotNull(responses);
         assertFalse(responses.isEmpty());
@@ -225,35 +287,107 @@ class BookingServiceTest {
 
     @Test
     void testUpdateBookingStatusApproved() throws Exception {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.of(booking));
         when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         BookingResponse response = bookingService.updateBookingStatus(1L, 1L, true);
 
-        assertEquals(Status.APPROVED, response.getStatus());
+        assertEquals(bookingResponse, response);
+        assertEquals(Status.APPROVED, booking.getStatus());
+        verify(bookingRepository).flush();
+        verify(itemBookingSummaryService).refresh(List.of(item.getId()));
+        verify(bookingOutbox).append(eq(BookingEventType.APPROVED), any());
     }
 
     @Test
     void testUpdateBookingStatusRejected() throws Exception {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.of(booking));
         when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         BookingResponse response = bookingService.updateBookingStatus(1L, 1L, false);
 
-        assertEquals(Status.REJECTED, response.getStatus());
+        assertEquals(bookingResponse, response);
+        assertEquals(Status.REJECTED, booking.getStatus());
+        verify(bookingIntervalIndex).remove(item.getId(), 1L);
+        verify(bookingOutbox).append(eq(BookingEventType.REJECTED), any());
     }
 
     @Test
-    void testUpdateBookingStatusItemNotFound() {
-        when(bookingRepository.findById(anyLong())).thenReturn(Optional.of(booking));
-        when(bookingMapper.toDto(any(Booking.class))).thenReturn(bookingResponse);
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
+    void testUpdateBookingStatusReapprovedLocksItem() throws Exception {
+        booking.setStatus(Status.REJECTED);
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.of(booking));
+        when(itemRepository.findByIdForUpdate(item.getId())).thenReturn(Optional.of(item));
+        when(bookingRepository.existsOverlapping(eq(item.getId()), any(), any(), any())).thenReturn(true);
+
+        assertThrows(ItemException.class, () -> bookingService.updateBookingStatus(1L, 1L, true));
+
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).findByIdForUpdate(item.getId());
+        inOrder.verify(bookingRepository).existsOverlapping(eq(item.getId()), any(), any(), any());
+        verify(bookingRepository, never()).flush();
+    }
+
+    @Test
+    void testUpdateBookingStatusBookingNotFound() {
+        when(bookingRepository.findWithItemById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 bookingService.updateBookingStatus(1L, 1L, true));
 
-        assertEquals("ITEM с id 1 не существует", exception.getMessage());
+        assertEquals("BOOKING с id 1 не существует", exception.getMessage());
+        verify(bookingRepository, never()).flush();
+    }
+
+    @Test
+    void testUpdateBookingStatuses() throws Exception {
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByIdInAndItemUserId(anyCollection(), eq(1L)))
+                .thenReturn(List.of(booking, updateBooking));
+
+        List<BookingStatusResponse> responses = bookingService.updateBookingStatuses(1L, List.of(
+                new BookingStatusRequest(1L, true),
+                new BookingStatusRequest(3L, false),
+                new BookingStatusRequest(1L, false),
+                new BookingStatusRequest(99L, true)));
+
+        assertEquals(4, responses.size());
+        assertEquals(Status.APPROVED, responses.get(0).getStatus());
+        assertEquals(Status.REJECTED, responses.get(1).getStatus());
+        assertEquals("BOOKING с id 1 указан повторно", responses.get(2).getError());
+        assertEquals("BOOKING с id 99 не существует", responses.get(3).getError());
+        assertEquals(Status.APPROVED, booking.getStatus());
+        assertEquals(Status.REJECTED, updateBooking.getStatus());
+        verify(bookingRepository).flush();
+        verify(itemBookingSummaryService).refresh(Set.of(item.getId()));
+        verify(bookingIntervalIndex).add(any());
+        verify(bookingIntervalIndex).remove(item.getId(), 3L);
+        verify(bookingOutbox).appendAll(eq(BookingEventType.APPROVED), argThat(events -> events.size() == 1));
+        verify(bookingOutbox).appendAll(eq(BookingEventType.REJECTED), argThat(events -> events.size() == 1));
+    }
+
+    @Test
+    void testUpdateBookingStatusesReapprovedLocksItems() throws Exception {
+        booking.setStatus(Status.REJECTED);
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(user));
+        when(bookingRepository.findAllByIdInAndItemUserId(anyCollection(), eq(1L))).thenReturn(List.of(booking));
+
+        List<BookingStatusResponse> responses = bookingService.updateBookingStatuses(1L,
+                List.of(new BookingStatusRequest(1L, true)));
+
+        assertEquals(Status.APPROVED, responses.get(0).getStatus());
+        InOrder inOrder = inOrder(itemRepository, bookingRepository);
+        inOrder.verify(itemRepository).findAllByIdInForUpdate(Set.of(item.getId()));
+        inOrder.verify(bookingRepository).existsOverlapping(eq(item.getId()), any(), any(), any());
+    }
+
+    @Test
+    void testUpdateBookingStatusesUserNotFound() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                bookingService.updateBookingStatuses(1L, List.of(new BookingStatusRequest(1L, true))));
+
+        assertEquals("USER с id 1 не существует", exception.getMessage());
+        verify(bookingRepository, never()).flush();
     }
 }
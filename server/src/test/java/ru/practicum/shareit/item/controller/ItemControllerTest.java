@@ -1,11 +1,13 @@
 package ru.practicum.shareit.item.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.model.AccessDeniedException;
@@ -21,12 +23,16 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemController.class)
+@Import(SimpleMeterRegistry.class)
 class ItemControllerTest {
 
     @Autowired
@@ -72,7 +78,7 @@ class ItemControllerTest {
 
     @Test
     void testUpdateItem() throws Exception {
-        when(itemService.updateItem(any(ItemCreate.class), anyLong(), anyLong())).thenReturn(mockItemResponse);
+        when(itemService.updateItem(any(ItemCreate.class), anyLong(), anyLong(), isNull())).thenReturn(mockItemResponse);
 
         mockMvc.perform(patch("/items/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -86,6 +92,7 @@ class ItemControllerTest {
 
     @Test
     void testGetItem() throws Exception {
+        when(itemService.getItemTag(anyLong(), anyLong())).thenReturn("\"item-1-1\"");
         when(itemService.getItem(anyLong(), anyLong())).thenReturn(mockItemResponse);
 
         mockMvc.perform(get("/items/1")
@@ -96,6 +103,26 @@ class ItemControllerTest {
                 .andExpect(jsonPath("$.description").value(mockItemResponse.getDescription()));
     }
 
+    @Test
+    void testGetItemNotModified() throws Exception {
+        when(itemService.getItemTag(anyLong(), anyLong())).thenReturn("\"item-1-1\"");
+        when(itemService.getItem(anyLong(), anyLong())).thenReturn(mockItemResponse);
+
+        String etag = mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Vary", "X-Sharer-User-Id"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/items/1")
+                        .header("X-Sharer-User-Id", 1L)
+                        .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag));
+
+        verify(itemService, times(1)).getItem(1L, 1L);
+    }
+
     @Test
     void testGetAllItems() throws Exception {
         List<ItemResponse> mockItems = Arrays.asList(mockItemResponse);
@@ -157,7 +184,7 @@ class ItemControllerTest {
 
     @Test
     void testUpdateItemAccessDeniedException() throws Exception {
-        when(itemService.updateItem(any(ItemCreate.class), anyLong(), anyLong())).thenThrow(new AccessDeniedException("Access denied"));
+        when(itemService.updateItem(any(ItemCreate.class), anyLong(), anyLong(), isNull())).thenThrow(new AccessDeniedException("Access denied"));
 
         mockMvc.perform(patch("/items/1")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -168,7 +195,7 @@ class ItemControllerTest {
 
     @Test
     void testGetItemNotFoundException() throws Exception {
-        when(itemService.getItem(anyLong(), anyLong())).thenThrow(new NotFoundException("Item not found"));
+        when(itemService.getItemTag(anyLong(), anyLong())).thenThrow(new NotFoundException("Item not found"));
 
         mockMvc.perform(get("/items/1")
                         .header("X-Sharer-User-Id", 1L))
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.item.importing;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemImportStatus;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "shareit.import.chunk-size=2")
+class ItemImportJobServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportJobService itemImportJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        user = userRepository.save(User.builder().name("Importer")
+                .email(UUID.randomUUID() + "@example.com").build());
+    }
+
+    @Test
+    void testImportNdjson() throws Exception {
+        var body = "{\"name\":\"Drill\",\"description\":\"Cordless\",\"available\":true}\n"
+                + "\n"
+                + "{\"name\":\"\",\"description\":\"No name\",\"available\":true}\n"
+                + "{not json}\n"
+                + "{\"name\":\"Saw\",\"description\":\"Hand saw\",\"available\":false}\n"
+                + "{\"name\":\"Hammer\",\"description\":\"Steel\",\"available\":true,\"requestId\":999999}\n"
+                + "{\"name\":\"Ladder\",\"description\":\"Folding\",\"available\":true}\n";
+
+        var status = await(itemImportJobService.start(user.getId(), "application/x-ndjson", stream(body)));
+
+        assertEquals(ItemImportState.COMPLETED, status.getState());
+        assertEquals(6, status.getProcessed());
+        assertEquals(3, status.getImported());
+        assertEquals(3, status.getRejected());
+        assertEquals(3, status.getErrors().get(0).getLine());
+        assertEquals(4, status.getErrors().get(1).getLine());
+        assertEquals("REQUEST с id 999999 не существует", status.getErrors().get(2).getMessage());
+        assertEquals(3, itemRepository.findViewsByUserId(user.getId(), Pageable.unpaged()).size());
+    }
+
+    @Test
+    void testImportCsv() throws Exception {
+        var body = "name,description,available,requestId\n"
+                + "Drill,Cordless,true,\n"
+                + "Saw,,true,\n"
+                + "Ladder,Folding,maybe,\n"
+                + "\"Tent, 4 person\",Camping,false,\n";
+
+        var status = await(itemImportJobService.start(user.getId(), "text/csv; charset=UTF-8", stream(body)));
+
+        assertEquals(ItemImportState.COMPLETED, status.getState());
+        assertEquals(4, status.getProcessed());
+        assertEquals(2, status.getImported());
+        assertEquals(2, status.getRejected());
+        assertEquals(3, status.getErrors().get(0).getLine());
+        assertTrue(status.getErrors().get(0).getMessage().startsWith("description"));
+        assertEquals(4, status.getErrors().get(1).getLine());
+    }
+
+    @Test
+    void testStatusOfOtherUser() throws Exception {
+        var status = itemImportJobService.start(user.getId(), "application/x-ndjson", stream(""));
+
+        assertThrows(NotFoundException.class, () -> itemImportJobService.getStatus(user.getId() + 1, status.getId()));
+        assertThrows(NotFoundException.class, () -> itemImportJobService.getStatus(user.getId(), "unknown"));
+    }
+
+    @Test
+    void testStartUserNotFound() {
+        assertThrows(NotFoundException.class,
+                () -> itemImportJobService.start(-1L, "application/x-ndjson", stream("")));
+    }
+
+    private ItemImportStatus await(ItemImportStatus started) throws Exception {
+        var status = started;
+        for (int i = 0; i < 100 && status.getState() == ItemImportState.RUNNING; i++) {
+            Thread.sleep(50);
+            status = itemImportJobService.getStatus(user.getId(), started.getId());
+        }
+        return status;
+    }
+
+    private static ByteArrayInputStream stream(String body) {
+        return new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8));
+    }
+}
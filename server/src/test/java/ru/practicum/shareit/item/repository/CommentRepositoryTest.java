@@ -5,7 +5,9 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.cache.EntityCacheConfiguration;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
@@ -21,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(EntityCacheConfiguration.class)
 class CommentRepositoryTest {
 
     @Autowired
@@ -85,4 +88,33 @@ class CommentRepositoryTest {
         assertTrue(comments.contains(comment));
     }
 
-}
\ No newline at end of file
+    @Test
+    void testFindAllByItemIdIn() {
+        Item otherItem = Item.builder()
+                .name("Item 2")
+                .description("Description 2")
+                .isAvailable(true)
+                .user(user)
+                .build();
+        itemRepository.saveAndFlush(otherItem);
+        Comment comment = Comment.builder()
+                .text("first comment")
+                .item(item)
+                .author(user)
+                .build();
+        Comment otherComment = Comment.builder()
+                .text("second comment")
+                .item(otherItem)
+                .author(userItemRequest)
+                .build();
+        commentRepository.saveAndFlush(comment);
+        commentRepository.saveAndFlush(otherComment);
+
+        List<Comment> comments = commentRepository.findAllByItemIdIn(List.of(item.getId(), otherItem.getId()));
+
+        assertEquals(2, comments.size());
+        assertTrue(comments.contains(comment));
+        assertTrue(comments.contains(otherComment));
+        assertEquals(1, commentRepository.findAllByItemIdIn(List.of(otherItem.getId())).size());
+    }
+}
@@ -5,9 +5,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import ru.practicum.shareit.cache.EntityCacheConfiguration;
+import ru.practicum.shareit.item.dto.ItemView;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -15,12 +20,15 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @ExtendWith(SpringExtension.class)
 @DataJpaTest
+@Import(EntityCacheConfiguration.class)
 class ItemRepositoryTest {
 
     @Autowired
@@ -57,31 +65,6 @@ class ItemRepositoryTest {
         itemRequestRepository.saveAndFlush(itemRequest);
     }
 
-    @Test
-    void testFindAllByUserId() {
-        Item item1 = Item.builder()
-                .name("Item 1")
-                .description("Description 1")
-                .isAvailable(true)
-                .user(user)
-                .build();
-
-        Item item2 = Item.builder()
-                .name("Item 2")
-                .description("Description 2")
-                .isAvailable(true)
-                .user(user)
-                .build();
-
-        itemRepository.saveAndFlush(item1);
-        itemRepository.saveAndFlush(item2);
-
-        List<Item> items = itemRepository.findAllByUserId(user.getId(), PageRequest.of(0, 10));
-        assertEquals(2, items.size());
-        assertTrue(items.contains(item1));
-        assertTrue(items.contains(item2));
-    }
-
     @Test
     @DirtiesContext
     void testSearchItems() {
@@ -110,16 +93,9 @@ class ItemRepositoryTest {
         itemRepository.saveAndFlush(item2);
         itemRepository.saveAndFlush(item3);
 
-        List<Item> results = itemRepository.searchItems("drill");
-        assertEquals(1, results.size());
-        assertTrue(results.contains(item1));
-
-        results = itemRepository.searchItems("hammer");
-        assertEquals(1, results.size());
-        assertTrue(results.contains(item2));
-
-        results = itemRepository.searchItems("saw");
-        assertTrue(results.isEmpty());
+        assertEquals(List.of(item1.getId()), searchIds("drill"));
+        assertEquals(List.of(item2.getId()), searchIds("hammer"));
+        assertTrue(searchIds("saw").isEmpty());
     }
 
     @Test
@@ -150,7 +126,7 @@ class ItemRepositoryTest {
     }
 
     @Test
-    void testFindAllByUserIdWithPagination() {
+    void testFindViewsByUserIdWithPagination() {
         Item item1 = Item.builder()
                 .name("Item 1")
                 .description("Description 1")
@@ -168,12 +144,44 @@ class ItemRepositoryTest {
         itemRepository.saveAndFlush(item1);
         itemRepository.saveAndFlush(item2);
 
-        List<Item> firstPage = itemRepository.findAllByUserId(user.getId(), PageRequest.of(0, 1));
-        List<Item> secondPage = itemRepository.findAllByUserId(user.getId(), PageRequest.of(1, 1));
+        List<ItemView> firstPage = itemRepository.findViewsByUserId(user.getId(),
+                PageRequest.of(0, 1, Sort.Direction.ASC, "id"));
+        List<ItemView> secondPage = itemRepository.findViewsByUserId(user.getId(),
+                PageRequest.of(1, 1, Sort.Direction.ASC, "id"));
+
+        assertEquals(item1.getId(), firstPage.get(0).getId());
+        assertEquals(item2.getId(), secondPage.get(0).getId());
+    }
+
+    @Test
+    void testFindViewsByUserId() {
+        Item withRequest = itemRepository.saveAndFlush(Item.builder()
+                .name("Drill")
+                .description("Electric drill for home use")
+                .isAvailable(true)
+                .user(user)
+                .itemRequest(itemRequest)
+                .build());
+        Item withoutRequest = itemRepository.saveAndFlush(Item.builder()
+                .name("Hammer")
+                .description("Heavy-duty hammer")
+                .isAvailable(false)
+                .user(user)
+                .build());
+
+        List<ItemView> views = itemRepository.findViewsByUserId(user.getId(),
+                PageRequest.of(0, 10, Sort.Direction.ASC, "id"));
+
+        assertEquals(2, views.size());
+        assertEquals(new ItemView(withRequest.getId(), "Drill", "Electric drill for home use", true,
+                user.getId(), itemRequest.getId()), views.get(0));
+        assertEquals(withoutRequest.getId(), views.get(1).getId());
+        assertNull(views.get(1).getRequestId());
+    }
 
-        assertEquals(1, firstPage.size());
-        assertEquals(1, secondPage.size());
-        assertTrue(firstPage.contains(item1) || firstPage.contains(item2));
-        assertTrue(secondPage.contains(item1) || secondPage.contains(item2));
+    private List<Long> searchIds(String text) {
+        return itemRepository.searchItemViews(text, Pageable.unpaged()).stream()
+                .map(ItemView::getId)
+                .collect(Collectors.toList());
     }
-}
\ No newline at end of file
+}
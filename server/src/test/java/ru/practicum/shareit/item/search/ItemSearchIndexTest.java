@@ -0,0 +1,123 @@
+package ru.practicum.shareit.item.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
+import ru.practicum.shareit.user.model.User;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ItemSearchIndexTest {
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @InjectMocks
+    private ItemSearchIndex itemSearchIndex;
+
+    private User owner;
+    private User otherOwner;
+
+    @BeforeEach
+    void setUp() {
+        owner = User.builder().id(1L).name("Owner").email("owner@example.com").build();
+        otherOwner = User.builder().id(2L).name("Other").email("other@example.com").build();
+        when(itemRepository.findAll(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(
+                item(1L, owner, "Drill", "Electric drill for home use", true),
+                item(2L, owner, "Hammer", "Heavy-duty hammer", true),
+                item(3L, otherOwner, "Saw", "Hand saw", false),
+                item(4L, otherOwner, "Drill bits", "Set of bits", true))));
+        itemSearchIndex.rebuild();
+    }
+
+    @Test
+    void testRebuild() {
+        assertTrue(itemSearchIndex.canSearch("drill"));
+        assertEquals(List.of(1L, 4L), itemSearchIndex.search("DRILL", 0, 10));
+    }
+
+    @Test
+    void testSearchSubstring() {
+        assertEquals(List.of(2L), itemSearchIndex.search("y-du", 0, 10));
+        assertTrue(itemSearchIndex.search("drilling", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testShortQueryNotServed() {
+        assertFalse(itemSearchIndex.canSearch("ll"));
+        assertThrows(IllegalArgumentException.class, () -> itemSearchIndex.search("ll", 0, 10));
+    }
+
+    @Test
+    void testSearchSkipsUnavailable() {
+        assertTrue(itemSearchIndex.search("saw", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testSearchPaging() {
+        assertEquals(List.of(1L), itemSearchIndex.search("dri", 0, 1));
+        assertEquals(List.of(4L), itemSearchIndex.search("dri", 1, 1));
+        assertTrue(itemSearchIndex.search("dri", 2, 1).isEmpty());
+    }
+
+    @Test
+    void testIndexUpdatedItem() {
+        itemSearchIndex.index(item(2L, owner, "Mallet", "Rubber mallet", true));
+        itemSearchIndex.index(item(3L, otherOwner, "Saw", "Hand saw", true));
+
+        assertTrue(itemSearchIndex.search("hammer", 0, 10).isEmpty());
+        assertEquals(List.of(2L), itemSearchIndex.search("mallet", 0, 10));
+        assertEquals(List.of(3L), itemSearchIndex.search("saw", 0, 10));
+    }
+
+    @Test
+    void testRemoveByOwner() {
+        itemSearchIndex.onUserDeleted(new UserDeletedEvent(otherOwner.getId()));
+
+        assertEquals(List.of(1L), itemSearchIndex.search("drill", 0, 10));
+    }
+
+    @Test
+    void testRebuildKeepsConcurrentUpdates() {
+        when(itemRepository.findAll(any(Pageable.class))).thenAnswer(invocation -> {
+            assertEquals(List.of(1L, 4L), itemSearchIndex.search("drill", 0, 10));
+            itemSearchIndex.index(item(2L, owner, "Mallet", "Rubber mallet", true));
+            itemSearchIndex.index(item(5L, owner, "Drill press", "Bench drill", true));
+            itemSearchIndex.onUserDeleted(new UserDeletedEvent(otherOwner.getId()));
+            return new PageImpl<>(List.of(
+                    item(1L, owner, "Drill", "Electric drill for home use", true),
+                    item(2L, owner, "Hammer", "Heavy-duty hammer", true),
+                    item(3L, otherOwner, "Saw", "Hand saw", false),
+                    item(4L, otherOwner, "Drill bits", "Set of bits", true)));
+        });
+
+        itemSearchIndex.rebuild();
+
+        assertEquals(List.of(1L, 5L), itemSearchIndex.search("drill", 0, 10));
+        assertEquals(List.of(2L), itemSearchIndex.search("mallet", 0, 10));
+        assertTrue(itemSearchIndex.search("hammer", 0, 10).isEmpty());
+    }
+
+    private Item item(Long id, User user, String name, String description, boolean available) {
+        return Item.builder()
+                .id(id)
+                .user(user)
+                .name(name)
+                .description(description)
+                .isAvailable(available)
+                .build();
+    }
+}
@@ -0,0 +1,113 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.Status;
+import ru.practicum.shareit.item.model.BookingRef;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
+import ru.practicum.shareit.item.repository.ItemBookingSummaryRepository;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ItemBookingSummaryServiceIntegrationTest {
+
+    @Autowired
+    private ItemBookingSummaryService itemBookingSummaryService;
+
+    @Autowired
+    private ItemBookingSummaryRepository summaryRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private User booker;
+    private Item item;
+
+    @BeforeEach
+    void setUp() {
+        User owner = userRepository.save(User.builder().name("Owner").email("summary.owner@example.com").build());
+        booker = userRepository.save(User.builder().name("Booker").email("summary.booker@example.com").build());
+        item = itemRepository.save(Item.builder().name("Drill").description("Cordless drill")
+                .user(owner).isAvailable(true).build());
+    }
+
+    @Test
+    void testGetSummaryDoesNotPersistRow() {
+        var now = LocalDateTime.now();
+        createBooking(now.minusDays(5), Status.APPROVED);
+        var last = createBooking(now.minusDays(2), Status.APPROVED);
+        var next = createBooking(now.plusDays(2), Status.APPROVED);
+        createBooking(now.plusDays(1), Status.WAITING);
+        createBooking(now.plusDays(4), Status.APPROVED);
+
+        var summary = itemBookingSummaryService.getSummary(item.getId());
+
+        assertEquals(last.getId(), summary.getLastBooking().getId());
+        assertEquals(booker.getId(), summary.getLastBooking().getBookerId());
+        assertEquals(next.getId(), summary.getNextBooking().getId());
+        assertFalse(summaryRepository.existsById(item.getId()));
+    }
+
+    @Test
+    void testRefreshPersistsAndUpdatesRow() {
+        var now = LocalDateTime.now();
+        var last = createBooking(now.minusDays(2), Status.APPROVED);
+
+        itemBookingSummaryService.refresh(List.of(item.getId()));
+        var next = createBooking(now.plusDays(2), Status.APPROVED);
+        itemBookingSummaryService.refresh(List.of(item.getId()));
+        entityManager.flush();
+        entityManager.clear();
+
+        var summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(last.getId(), summary.getLastBooking().getId());
+        assertEquals(next.getId(), summary.getNextBooking().getId());
+    }
+
+    @Test
+    void testSweepRollsNextBookingOver() {
+        var started = createBooking(LocalDateTime.now().minusHours(1), Status.APPROVED);
+        summaryRepository.save(new ItemBookingSummary(item.getId(), null,
+                new BookingRef(started.getId(), booker.getId()), started.getStartDate()));
+        entityManager.flush();
+
+        itemBookingSummaryService.sweep();
+        entityManager.flush();
+        entityManager.clear();
+
+        var summary = summaryRepository.findById(item.getId()).orElseThrow();
+        assertEquals(started.getId(), summary.getLastBooking().getId());
+        assertNull(summary.getNextBooking());
+        assertNull(summary.getNextStartDate());
+    }
+
+    private Booking createBooking(LocalDateTime start, Status status) {
+        return bookingRepository.save(Booking.builder().booker(booker).item(item)
+                .startDate(start).endDate(start.plusHours(12)).status(status).build());
+    }
+}
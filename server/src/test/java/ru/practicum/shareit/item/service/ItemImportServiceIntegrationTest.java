@@ -0,0 +1,63 @@
+package ru.practicum.shareit.item.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.dto.ItemCreate;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.QueryCountInspector;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ItemImportServiceIntegrationTest {
+
+    @Autowired
+    private ItemImportService itemImportService;
+
+    @Autowired
+    private ItemRepository itemRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void testImportItemsInBatches() throws Exception {
+        var user = userRepository.save(User.builder().name("Shop").email("import.shop@example.com").build());
+        List<ItemCreate> items = IntStream.range(0, 240)
+                .mapToObj(i -> {
+                    var itemCreate = new ItemCreate();
+                    itemCreate.setName("Item " + i);
+                    itemCreate.setDescription("Imported item " + i);
+                    itemCreate.setIsAvailable(true);
+                    return itemCreate;
+                })
+                .collect(Collectors.toList());
+        QueryCountInspector.reset();
+
+        int imported = itemImportService.importItems(user.getId(), items);
+
+        assertEquals(240, imported);
+        assertTrue(QueryCountInspector.getCount() < 20,
+                "ожидались пакетные вставки, выполнено запросов: " + QueryCountInspector.getCount());
+        assertEquals(240, itemRepository.findViewsByUserId(user.getId(), Pageable.unpaged()).size());
+    }
+
+    @Test
+    void testImportItemsUserNotFound() {
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                itemImportService.importItems(999L, List.of(new ItemCreate())));
+
+        assertEquals("USER с id 999 не существует", exception.getMessage());
+    }
+}
@@ -9,11 +9,21 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
 import ru.practicum.shareit.item.dto.ItemResponse;
+import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.SqlStatements;
+import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserService;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -31,6 +41,16 @@ class ItemServiceImplIntegrationTest {
 
     @Autowired
     private ItemRepository itemRepository;
+
+    @Autowired
+    private CommentRepository commentRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private User user;
     private Item item;
 
@@ -67,6 +87,19 @@ class ItemServiceImplIntegrationTest {
         assertTrue(itemResponse.getComments().isEmpty());
     }
 
+    @Test
+    void testGetAllItemsStatementBound() throws Throwable {
+        for (int i = 0; i < 4; i++) {
+            itemRepository.save(Item.builder().name("Item " + i).description("Item " + i)
+                    .user(user).isAvailable(true).build());
+        }
+        itemRepository.flush();
+
+        List<ItemResponse> items = SqlStatements.assertAtMost(7, () -> itemService.getAllItems(user.getId(), 0, 10));
+
+        assertEquals(5, items.size());
+    }
+
     @Test
     void testGetItemNotFound() {
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
@@ -75,4 +108,23 @@ class ItemServiceImplIntegrationTest {
 
         assertEquals("ITEM с id 999 не существует", thrown.getMessage());
     }
+
+    @Test
+    void testCommentAuthorRenameIncrementsItemVersion() throws NotFoundException, PreconditionFailedException {
+        var author = userRepository.saveAndFlush(User.builder().name("Jane Roe").email("jane.roe@example.com").build());
+        commentRepository.saveAndFlush(Comment.builder().author(author).item(item).text("Good drill").build());
+        var version = itemVersion();
+        var rename = new UserRequest();
+        rename.setName("Jane Moe");
+
+        userService.updateUser(author.getId(), rename, null);
+
+        assertEquals(version + 1, itemVersion());
+    }
+
+    private long itemVersion() {
+        return entityManager.createQuery("SELECT i.version FROM Item i WHERE i.id = :itemId", Long.class)
+                .setParameter("itemId", item.getId())
+                .getSingleResult();
+    }
 }
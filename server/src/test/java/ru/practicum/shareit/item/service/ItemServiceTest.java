@@ -18,25 +18,33 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.item.dto.*;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.BookingRef;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.model.ItemBookingSummary;
 import ru.practicum.shareit.item.repository.CommentRepository;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.search.ItemSearchIndex;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
 
+import java.time.Clock;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static ru.practicum.shareit.booking.repository.BookingSpecification.startDateIsBefore;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceTest {
@@ -44,7 +52,7 @@ class ItemServiceTest {
     @Mock
     private ItemRepository itemRepository;
     @Mock
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
     @Mock
     private ItemRequestRepository itemRequestRepository;
     @Mock
@@ -57,6 +65,12 @@ class ItemServiceTest {
     private BookingMapper bookingMapper;
     @Mock
     private CommentMapper commentMapper;
+    @Mock
+    private ItemSearchIndex itemSearchIndex;
+    @Mock
+    private ItemBookingSummaryService itemBookingSummaryService;
+    @Mock
+    private Clock clock;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -78,12 +92,15 @@ class ItemServiceTest {
     private ItemBookingResponse bookingResponseBefore;
     private ItemResponse itemResponse2;
     private ItemBookingResponse itemBookingResponse;
+    private ItemBookingSummary summary;
+    private ItemView itemView;
+    private CommentView commentView;
 
     @BeforeEach
     void setUp() {
         booker = User.builder().id(2L).name("Booker").email("booker@example.com").build();
         user = User.builder().id(1L).name("Author").email("author@example.com").build();
-        item = Item.builder().id(2L).description("Powerful drill").name("Drill").isAvailable(true).user(user).build();
+        item = Item.builder().id(2L).description("Powerful drill").name("Drill").isAvailable(true).user(user).version(0L).build();
         comment = Comment.builder().id(1L).item(item).author(booker).text("new comment").build();
         booking = Booking.builder()
                 .item(item)
@@ -152,12 +169,18 @@ class ItemServiceTest {
 
         itemBookingResponse = new ItemBookingResponse();
         itemBookingResponse.setId(1L);
+
+        summary = new ItemBookingSummary(item.getId(), new BookingRef(1L, 2L), new BookingRef(2L, 2L),
+                bookingAfter.getStartDate());
+
+        itemView = new ItemView(item.getId(), item.getName(), item.getDescription(), true, user.getId(), null);
+        commentView = new CommentView(comment.getId(), item.getId(), comment.getText(), booker.getName(), null);
     }
 
 
     @Test
     void testCreateItem() throws Exception {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(user));
         when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
         when(itemMapper.fromDto(any(ItemCreate.class), any(User.class), any())).thenReturn(item);
         when(itemMapper.toDtoWithBooking(any(Item.class), any(), any(), any())).thenReturn(itemResponse2);
@@ -173,7 +196,7 @@ class ItemServiceTest {
 
     @Test
     void testCreateItemWithRequestId() throws Exception {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(user));
         when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
         when(itemMapper.fromDto(any(ItemCreate.class), any(User.class), any())).thenReturn(item);
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.of(itemRequest));
@@ -190,7 +213,7 @@ class ItemServiceTest {
 
     @Test
     void testUserNotFoundCreateItem() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
                 itemService.createItem(itemCreate1, 1L));
@@ -204,7 +227,7 @@ class ItemServiceTest {
         when(itemRepository.saveAndFlush(any(Item.class))).thenReturn(item);
         when(itemMapper.toDto(any(Item.class))).thenReturn(itemResponse2);
 
-        ItemResponse response = itemService.updateItem(itemCreate2, user.getId(), item.getId());
+        ItemResponse response = itemService.updateItem(itemCreate2, user.getId(), item.getId(), null);
 
         assertNotNull(response);
         assertEquals("Big ladder", response.getDescription());
@@ -217,7 +240,7 @@ class ItemServiceTest {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException exception = assertThrows(NotFoundException.class, () ->
-                itemService.updateItem(itemCreate1, 1L, 1L));
+                itemService.updateItem(itemCreate1, 1L, 1L, null));
 
         assertEquals("ITEM с id 1 не существует", exception.getMessage());
     }
@@ -227,11 +250,30 @@ class ItemServiceTest {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
 
         AccessDeniedException exception = assertThrows(AccessDeniedException.class, () ->
-                itemService.updateItem(itemCreate1, 3L, 1L));
+                itemService.updateItem(itemCreate1, 3L, 1L, null));
 
         assertEquals("USER с id 3 не может редактировать этот ITEM c id 1", exception.getMessage());
     }
 
+    @Test
+    void testGetItemTagDependsOnViewer() throws Exception {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+
+        assertNotEquals(itemService.getItemTag(user.getId(), item.getId()),
+                itemService.getItemTag(booker.getId(), item.getId()));
+    }
+
+    @Test
+    void testGetItemTagUserNotFound() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
+
+        NotFoundException exception = assertThrows(NotFoundException.class, () ->
+                itemService.getItemTag(99L, item.getId()));
+
+        assertEquals("USER с id 99 не существует", exception.getMessage());
+    }
+
     @Test
     void testGetItem() throws Exception {
         when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
@@ -245,11 +287,29 @@ class ItemServiceTest {
         assertTrue(response.getIsAvailable());
     }
 
+    @Test
+    void testGetItemByOwner() throws Exception {
+        when(itemRepository.findById(item.getId())).thenReturn(Optional.of(item));
+        when(itemBookingSummaryService.getSummary(item.getId())).thenReturn(summary);
+        when(bookingMapper.toDtoItemBooking(summary.getNextBooking())).thenReturn(bookingResponseAfter);
+        when(bookingMapper.toDtoItemBooking(summary.getLastBooking())).thenReturn(bookingResponseBefore);
+        when(itemMapper.toDtoWithBooking(eq(item), eq(bookingResponseAfter), eq(bookingResponseBefore), any()))
+                .thenReturn(itemResponse);
+
+        ItemResponse response = itemService.getItem(user.getId(), item.getId());
+
+        assertEquals(bookingResponseAfter, response.getNextBooking());
+        assertEquals(bookingResponseBefore, response.getLastBooking());
+        verify(bookingRepository, never()).findAll(any(Specification.class), any(Pageable.class));
+    }
+
     @Test
     void testGetAllItems() throws Exception {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.findAllByUserId(anyLong(), any(Pageable.class))).thenReturn(List.of(item));
-        when(itemMapper.toDtoWithBooking(any(Item.class), any(), any(), any())).thenReturn(itemResponse);
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemRepository.findViewsByUserId(anyLong(), any(Pageable.class))).thenReturn(List.of(itemView));
+        when(itemBookingSummaryService.getSummaries(List.of(item.getId())))
+                .thenReturn(Map.of(item.getId(), new ItemBookingSummary(item.getId(), null, null, null)));
+        when(itemMapper.toDtoWithBooking(any(ItemView.class), any(), any(), any())).thenReturn(itemResponse);
 
         List<ItemResponse> responses = itemService.getAllItems(1L,0, 10);
 
@@ -262,12 +322,15 @@ class ItemServiceTest {
 
     @Test
     void testGetAllItemsWithBookings() throws Exception {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
-        when(itemRepository.findAllByUserId(anyLong(), any(Pageable.class))).thenReturn(List.of(item));
-        when(bookingRepository.findAll(any(Specification.class))).thenReturn(List.of(bookingAfter));
-        when(bookingRepository.findAll(startDateIsBefore())).thenReturn(List.of(booking));
-        when(itemMapper.toDtoWithBooking(any(Item.class), any(), any(), any())).thenReturn(itemResponse);
-        when(bookingMapper.toDtoItemBooking(any(Booking.class))).thenReturn(itemBookingResponse);
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(user));
+        when(itemRepository.findViewsByUserId(anyLong(), any(Pageable.class))).thenReturn(List.of(itemView));
+        when(commentRepository.findViewsByItemIdIn(List.of(item.getId()))).thenReturn(List.of(commentView));
+        when(itemBookingSummaryService.getSummaries(List.of(item.getId()))).thenReturn(Map.of(item.getId(), summary));
+        when(itemMapper.toDtoWithBooking(any(ItemView.class), eq(bookingResponseAfter), eq(bookingResponseBefore), any()))
+                .thenReturn(itemResponse);
+        when(bookingMapper.toDtoItemBooking(summary.getNextBooking())).thenReturn(bookingResponseAfter);
+        when(bookingMapper.toDtoItemBooking(summary.getLastBooking())).thenReturn(bookingResponseBefore);
+        when(commentMapper.toDto(commentView)).thenReturn(commentResponse);
 
         List<ItemResponse> responses = itemService.getAllItems(1L,0, 10);
 
@@ -283,7 +346,7 @@ class ItemServiceTest {
 
     @Test
     void testUserNotFoundGetAllItems() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.getAllItems(1L, 0, 10));
     }
@@ -297,9 +360,11 @@ class ItemServiceTest {
 
     @Test
     void testSearchItems() throws Exception {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
-        when(itemRepository.searchItems("new comment")).thenReturn(List.of(item));
-        when(itemMapper.toDto(item)).thenReturn(itemResponse);
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemSearchIndex.canSearch("new comment")).thenReturn(true);
+        when(itemSearchIndex.search("new comment", 0, 10)).thenReturn(List.of(item.getId()));
+        when(itemRepository.findViewsByIdIn(List.of(item.getId()))).thenReturn(List.of(itemView));
+        when(itemMapper.toDto(itemView)).thenReturn(itemResponse);
 
         List<ItemResponse> responses = itemService.searchItems("new comment", 1L, 0, 10);
 
@@ -310,16 +375,29 @@ class ItemServiceTest {
         assertEquals(item.getDescription(), responses.get(0).getDescription());
     }
 
+    @Test
+    void testSearchItemsIndexNotReady() throws Exception {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemSearchIndex.canSearch("Drill")).thenReturn(false);
+        when(itemRepository.searchItemViews(eq("drill"), any(Pageable.class))).thenReturn(List.of(itemView));
+        when(itemMapper.toDto(itemView)).thenReturn(itemResponse);
+
+        List<ItemResponse> responses = itemService.searchItems("Drill", 1L, 0, 10);
+
+        assertEquals(1, responses.size());
+        assertEquals(item.getId(), responses.get(0).getId());
+    }
+
     @Test
     void testUserNotFoundSearchItems() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.searchItems("new comment", 1L, 0, 10));
     }
 
     @Test
     void testTextBlankSearchItems() throws Exception {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(user));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(user));
 
         List<ItemResponse> response = itemService.searchItems("", 1L, 0, 10);
 
@@ -328,8 +406,9 @@ class ItemServiceTest {
 
     @Test
     void testAddComment() throws Exception {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
-        when(itemRepository.findById(anyLong())).thenReturn(Optional.of(item));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        stubClock();
+        when(itemRepository.findByIdForVersionIncrement(anyLong())).thenReturn(Optional.of(item));
         when(bookingRepository.findAll(any(Specification.class))).thenReturn(List.of(booking));
         when(commentMapper.fromDto(any(), any(), any())).thenReturn(comment);
         when(commentRepository.save(any(Comment.class))).thenReturn(comment);
@@ -343,17 +422,34 @@ class ItemServiceTest {
         assertEquals(booker.getName(), response.getAuthorName());
     }
 
+    @Test
+    void testItemDeletedAddComment() {
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        stubClock();
+        when(bookingRepository.findAll(any(Specification.class))).thenReturn(List.of(booking));
+        when(itemRepository.findByIdForVersionIncrement(anyLong())).thenReturn(Optional.empty());
+
+        assertThrows(NotFoundException.class,
+                () -> itemService.addComment(commentRequest, booker.getId(), item.getId()));
+    }
+
     @Test
     void testUserNotFoundAddComment() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.empty());
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.empty());
 
         assertThrows(NotFoundException.class, () -> itemService.addComment(commentRequest, 1L, 2L));
     }
 
     @Test
     void testUserDidntBookItemAddComment() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(booker));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(booker));
+        stubClock();
 
         assertThrows(ItemException.class, () -> itemService.addComment(commentRequest, 1L, 2L));
     }
-}
\ No newline at end of file
+
+    private void stubClock() {
+        when(clock.instant()).thenReturn(LocalDateTime.now().toInstant(ZoneOffset.UTC));
+        when(clock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+}
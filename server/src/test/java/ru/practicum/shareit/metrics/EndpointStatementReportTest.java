@@ -0,0 +1,142 @@
+package ru.practicum.shareit.metrics;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Проходит по эндпоинтам сервера на наборе из нескольких пользователей, вещей, бронирований и запросов,
+ * проверяет верхнюю границу числа SQL-запросов для каждого и пишет отчёт в target/sql-statements.md.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class EndpointStatementReportTest {
+
+    private static final Path REPORT = Path.of("target", "sql-statements.md");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Map<String, List<String>> report = new LinkedHashMap<>();
+    private final List<String> violations = new ArrayList<>();
+
+    @Test
+    void testStatementsPerEndpoint() throws Throwable {
+        long owner = id(call("POST /users", 2, post("/users"), null,
+                Map.of("name", "Owner", "email", "report.owner@example.com")));
+        long booker = id(call("POST /users", 2, post("/users"), null,
+                Map.of("name", "Booker", "email", "report.booker@example.com")));
+        long requester = id(call("POST /users", 2, post("/users"), null,
+                Map.of("name", "Requester", "email", "report.requester@example.com")));
+        call("GET /users", 1, get("/users"), null, null);
+        call("GET /users/{userId}", 1, get("/users/" + owner), null, null);
+        call("PATCH /users/{userId}", 2, patch("/users/" + requester), null, Map.of("name", "Requester 2"));
+
+        long request = id(call("POST /requests", 4, post("/requests"), requester,
+                Map.of("description", "Need tools")));
+        call("POST /requests", 4, post("/requests"), requester, Map.of("description", "Need a ladder"));
+
+        List<Long> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(id(call("POST /items", 4, post("/items"), owner,
+                    Map.of("name", "Tool " + i, "description", "Tool number " + i, "available", true,
+                            "requestId", request))));
+        }
+        call("PATCH /items/{itemId}", 2, patch("/items/" + items.get(0)), owner, Map.of("description", "Drill"));
+
+        List<Long> bookings = new ArrayList<>();
+        for (int i = 0; i < items.size(); i++) {
+            bookings.add(id(call("POST /bookings", 7, post("/bookings"), booker,
+                    Map.of("itemId", items.get(i),
+                            "start", LocalDateTime.now().minusDays(3 + i).withNano(0).toString(),
+                            "end", LocalDateTime.now().minusDays(2 + i).withNano(0).toString()))));
+        }
+        call("PATCH /bookings/{bookingId}", 9,
+                patch("/bookings/" + bookings.get(0)).param("approved", "true"), owner, null);
+        call("PATCH /bookings", 9, patch("/bookings"), owner, List.of(
+                Map.of("bookingId", bookings.get(1), "approved", true),
+                Map.of("bookingId", bookings.get(2), "approved", false)));
+        call("GET /bookings/{bookingId}", 1, get("/bookings/" + bookings.get(0)), booker, null);
+        call("GET /bookings", 1, get("/bookings"), booker, null);
+        call("GET /bookings/owner", 1, get("/bookings/owner").param("state", "PAST"), owner, null);
+
+        call("POST /items/{itemId}/comment", 5, post("/items/" + items.get(0) + "/comment"), booker,
+                Map.of("text", "Works"));
+        call("POST /items/{itemId}/comment", 5, post("/items/" + items.get(1) + "/comment"), booker,
+                Map.of("text", "Fine"));
+        call("GET /items/{itemId}", 3, get("/items/" + items.get(0)), owner, null);
+        call("GET /items", 6, get("/items"), owner, null);
+        call("GET /items/search", 1, get("/items/search").param("text", "tool"), booker, null);
+
+        call("GET /requests", 2, get("/requests"), requester, null);
+        call("GET /requests/all", 2, get("/requests/all"), owner, null);
+        call("GET /requests/{requestId}", 2, get("/requests/" + request), owner, null);
+
+        assertTrue(violations.isEmpty(), String.join(System.lineSeparator(), violations));
+    }
+
+    @AfterAll
+    void writeReport() throws IOException {
+        var text = new StringBuilder("# SQL-запросы по эндпоинтам\n\n| Эндпоинт | Запросов |\n|---|---|\n");
+        report.forEach((endpoint, statements) ->
+                text.append("| ").append(endpoint).append(" | ").append(statements.size()).append(" |\n"));
+        report.forEach((endpoint, statements) -> {
+            text.append("\n## ").append(endpoint).append("\n\n```sql\n");
+            statements.forEach(sql -> text.append(sql.replaceAll("\\s+", " ").trim()).append(";\n"));
+            text.append("```\n");
+        });
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, text, StandardCharsets.UTF_8);
+    }
+
+    private JsonNode call(String endpoint, int max, MockHttpServletRequestBuilder request, Long userId, Object body)
+            throws Throwable {
+        if (userId != null) {
+            request.header("X-Sharer-User-Id", userId);
+        }
+        if (body != null) {
+            request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+        }
+        var recorded = SqlStatements.record(() -> mockMvc.perform(request)
+                .andExpect(status().is2xxSuccessful())
+                .andReturn());
+        var statements = recorded.getStatements();
+        report.merge(endpoint, statements, (previous, current) -> previous.size() >= current.size() ? previous : current);
+        if (statements.size() > max) {
+            violations.add(String.format("%s: %d SQL-запросов при допустимых %d", endpoint, statements.size(), max));
+        }
+        return objectMapper.readTree(recorded.getResult().getResponse().getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static long id(JsonNode node) {
+        return node.get("id").asLong();
+    }
+}
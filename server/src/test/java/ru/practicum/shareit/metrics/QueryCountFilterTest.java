@@ -0,0 +1,36 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+class QueryCountFilterTest {
+
+    @Test
+    void testQueriesRecordedPerEndpoint() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        QueryCountFilter filter = new QueryCountFilter(meterRegistry);
+        QueryCountInspector inspector = new QueryCountInspector();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/items/1");
+
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> {
+            req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/items/{itemId}");
+            inspector.inspect("select 1");
+            inspector.inspect("select 2");
+        });
+
+        DistributionSummary summary = meterRegistry.find(QueryCountFilter.QUERY_SUMMARY)
+                .tags("method", "GET", "uri", "/items/{itemId}")
+                .summary();
+        assertNotNull(summary);
+        assertEquals(1, summary.count());
+        assertEquals(2, summary.totalAmount());
+        assertEquals(0, QueryCountInspector.getCount());
+    }
+}
@@ -0,0 +1,98 @@
+package ru.practicum.shareit.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.util.StatePast;
+import ru.practicum.shareit.booking.util.StateStrategy;
+import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.mapper.UserMapper;
+import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
+import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.user.service.UserServiceImpl;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ServiceMetricsAspectTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper userMapper;
+
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void testStateStrategyTimedByState() throws Exception {
+        when(bookingRepository.findViews(any(), any())).thenReturn(List.of());
+        StateStrategy strategy = proxy(new StatePast(bookingRepository, Clock.systemDefaultZone()));
+
+        strategy.findBookings(1L, null, PageRequest.of(0, 10));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.STATE_TIMER)
+                .tags("state", "PAST", "method", "findBookings", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @Test
+    void testServiceTimedWithException() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        UserService userService = proxy(new UserServiceImpl(userRepository, userMapper, itemRepository,
+                userLookupService, eventPublisher));
+
+        assertThrows(NotFoundException.class, () -> userService.getUser(1L));
+
+        Timer timer = meterRegistry.find(ServiceMetricsAspect.SERVICE_TIMER)
+                .tags("service", "UserServiceImpl", "method", "getUser",
+                        "outcome", "error", "exception", "NotFoundException")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T proxy(Object target) {
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.addAspect(new ServiceMetricsAspect(meterRegistry));
+        return (T) factory.getProxy();
+    }
+}
@@ -0,0 +1,57 @@
+package ru.practicum.shareit.metrics;
+
+import org.junit.jupiter.api.function.ThrowingSupplier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Записывает SQL-запросы, выполненные Hibernate в текущем потоке за время вызова,
+ * и проверяет их число сверху, чтобы N+1 в сервисах ловились тестами.
+ */
+public final class SqlStatements {
+
+    private SqlStatements() {
+    }
+
+    public static <T> Recorded<T> record(ThrowingSupplier<T> call) throws Throwable {
+        QueryCountInspector.startRecording();
+        T result;
+        List<String> statements;
+        try {
+            result = call.get();
+        } finally {
+            statements = QueryCountInspector.stopRecording();
+        }
+        return new Recorded<>(result, statements);
+    }
+
+    public static <T> T assertAtMost(int max, ThrowingSupplier<T> call) throws Throwable {
+        var recorded = record(call);
+        if (recorded.getStatements().size() > max) {
+            fail(String.format("Ожидалось не больше %d SQL-запросов, выполнено %d:%n%s",
+                    max, recorded.getStatements().size(), String.join(System.lineSeparator(),
+                            recorded.getStatements())));
+        }
+        return recorded.getResult();
+    }
+
+    public static final class Recorded<T> {
+        private final T result;
+        private final List<String> statements;
+
+        private Recorded(T result, List<String> statements) {
+            this.result = result;
+            this.statements = statements;
+        }
+
+        public T getResult() {
+            return result;
+        }
+
+        public List<String> getStatements() {
+            return statements;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package ru.practicum.shareit.request.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.exception.model.NotFoundException;
@@ -32,6 +34,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ItemRequestController.class)
+@Import(SimpleMeterRegistry.class)
 class ItemRequestControllerTest {
 
     @Autowired
@@ -82,6 +85,7 @@ class ItemRequestControllerTest {
 
     @Test
     void testGetItemRequest() throws Exception {
+        when(itemRequestService.getRequestTag(1L, 2L)).thenReturn("\"request-1-1\"");
         when(itemRequestService.getRequestItem(1L, 2L)).thenReturn(mockResponses.get(0));
 
         mockMvc.perform(get("/requests/1").header("X-Sharer-User-Id", 2))
@@ -12,6 +12,7 @@ import ru.practicum.shareit.exception.model.NotFoundException;
 import ru.practicum.shareit.exception.model.StateException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.SqlStatements;
 import ru.practicum.shareit.request.dto.ItemRequestResponse;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.request.repository.ItemRequestRepository;
@@ -68,6 +69,32 @@ class ItemRequestServiceImplIntegrationTest {
         assertEquals(item.getId(), itemRequests.get(0).getItems().get(0).getId());
     }
 
+    @Test
+    void testGetAllRequestItemStatementBound() throws Throwable {
+        for (int i = 0; i < 3; i++) {
+            var request = itemRequestRepository.save(createItemRequest("Need item " + i, author));
+            itemRepository.save(createItem("Item " + i, "Item " + i, anotherUser, request));
+        }
+        itemRequestRepository.flush();
+
+        List<ItemRequestResponse> itemRequests = SqlStatements.assertAtMost(3,
+                () -> itemRequestService.getAllRequestItem(0, 10, anotherUser.getId()));
+
+        assertEquals(4, itemRequests.size());
+    }
+
+    @Test
+    void testGetAllRequestItemPageSkipsOwnRequests() throws NotFoundException, StateException {
+        itemRequestRepository.save(createItemRequest("Own request", anotherUser));
+        itemRequestRepository.flush();
+
+        List<ItemRequestResponse> itemRequests = itemRequestService.getAllRequestItem(0, 1, anotherUser.getId());
+
+        assertEquals(1, itemRequests.size());
+        assertEquals(itemRequest.getId(), itemRequests.get(0).getId());
+        assertEquals(1, itemRequests.get(0).getItems().size());
+    }
+
     @Test
     void testGetAllRequestItemNotFound() {
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
@@ -21,7 +21,7 @@ import ru.practicum.shareit.request.repository.ItemRequestRepository;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
-import ru.practicum.shareit.user.repository.UserRepository;
+import ru.practicum.shareit.user.service.UserLookupService;
 
 import java.util.List;
 import java.util.Optional;
@@ -37,7 +37,7 @@ class ItemRequestServiceTest {
     private ItemRequestRepository itemRequestRepository;
 
     @Mock
-    private UserRepository userRepository;
+    private UserLookupService userLookupService;
 
     @Mock
     private ItemRepository itemRepository;
@@ -83,7 +83,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testAddRequestItem() throws NotFoundException {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(author));
         when(itemRequestRepository.save(any(ItemRequest.class))).thenAnswer(invocation -> {
             ItemRequest req = invocation.getArgument(0);
             req.setId(1L);
@@ -103,7 +103,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testAddRequestItemUserNotFound() {
-        when(userRepository.findById(1L)).thenReturn(Optional.empty());
+        when(userLookupService.findById(1L)).thenReturn(Optional.empty());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
             itemRequestService.addRequestItem(request, 1L);
@@ -114,7 +114,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetAllRequestItemInvalidSize() {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(author));
 
         ArithmeticException thrown = assertThrows(ArithmeticException.class, () -> {
             itemRequestService.getAllRequestItem(0, 0, 1L);
@@ -123,7 +123,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetAllOwnerRequestItem() throws NotFoundException, StateException {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(author));
         when(itemRequestRepository.findAllByAuthorId(anyLong(), any(Pageable.class))).thenReturn(List.of(itemRequest));
         when(itemRepository.findAllByItemRequestAuthorId(anyLong())).thenReturn(List.of(item));
         when(itemMapper.toDto(item)).thenReturn(itemResponse);
@@ -138,7 +138,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetRequestItem() throws NotFoundException {
-        when(userRepository.findById(1L)).thenReturn(Optional.of(author));
+        when(userLookupService.findById(1L)).thenReturn(Optional.of(author));
         when(itemRequestRepository.findById(1L)).thenReturn(Optional.of(itemRequest));
         when(itemRepository.findAllByItemRequest(itemRequest)).thenReturn(List.of(item));
         when(itemMapper.toDto(item)).thenReturn(itemResponse);
@@ -162,7 +162,7 @@ class ItemRequestServiceTest {
 
     @Test
     void testGetRequestItemNotFound() {
-        when(userRepository.findById(anyLong())).thenReturn(Optional.of(author));
+        when(userLookupService.findById(anyLong())).thenReturn(Optional.of(author));
         when(itemRequestRepository.findById(anyLong())).thenReturn(Optional.empty());
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
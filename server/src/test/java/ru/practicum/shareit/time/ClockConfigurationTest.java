@@ -0,0 +1,30 @@
+package ru.practicum.shareit.time;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClockConfigurationTest {
+
+    private final ClockConfiguration configuration = new ClockConfiguration();
+
+    @Test
+    void testTickTruncatesToWholeTicks() {
+        var clock = configuration.clock(Duration.ofSeconds(10), Optional.empty());
+
+        assertEquals(0, clock.millis() % 10_000);
+    }
+
+    @Test
+    void testFixedInstantStopsClock() {
+        var instant = Instant.parse("2020-01-10T12:00:00Z");
+        var clock = configuration.clock(Duration.ofSeconds(10), Optional.of(instant));
+
+        assertEquals(instant, clock.instant());
+        assertEquals(instant, clock.instant());
+    }
+}
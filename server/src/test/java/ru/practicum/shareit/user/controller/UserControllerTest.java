@@ -1,11 +1,13 @@
 package ru.practicum.shareit.user.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.user.dto.UserRequest;
@@ -24,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(UserController.class)
+@Import(SimpleMeterRegistry.class)
 class UserControllerTest {
 
     @Autowired
@@ -54,6 +57,7 @@ class UserControllerTest {
 
     @Test
     void testGetUserById() throws Exception {
+        when(userService.getUserTag(1L)).thenReturn("\"user-1-1\"");
         when(userService.getUser(1L)).thenReturn(userResponses.get(0));
 
         mockMvc.perform(get("/users/1"))
@@ -118,7 +122,7 @@ class UserControllerTest {
         userRequest.setEmail("john.doe@example.com");
         ObjectMapper objectMapper = new ObjectMapper();
         String json = objectMapper.writeValueAsString(userRequest);
-        when(userService.updateUser(1L, userRequest)).thenReturn(userMapper.toDto(User.builder()
+        when(userService.updateUser(1L, userRequest, null)).thenReturn(userMapper.toDto(User.builder()
                 .id(1L)
                 .email("john.doe@example.com")
                 .name("John Doe")
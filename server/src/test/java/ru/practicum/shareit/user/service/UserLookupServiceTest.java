@@ -0,0 +1,73 @@
+package ru.practicum.shareit.user.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UserLookupServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private UserLookupService userLookupService;
+
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        userLookupService = new UserLookupService(userRepository, 100, Duration.ofMinutes(5), meterRegistry);
+        user = User.builder().id(1L).name("John Doe").email("john.doe@example.com").build();
+    }
+
+    @Test
+    void testFindByIdCached() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        assertEquals("John Doe", userLookupService.findById(1L).orElseThrow().getName());
+        assertEquals("John Doe", userLookupService.findById(1L).orElseThrow().getName());
+
+        verify(userRepository, times(1)).findById(1L);
+        assertEquals(1, cacheCount("hit"));
+        assertEquals(1, cacheCount("miss"));
+    }
+
+    @Test
+    void testFindByIdNotFoundIsNotCached() {
+        when(userRepository.findById(1L)).thenReturn(Optional.empty(), Optional.of(user));
+
+        assertTrue(userLookupService.findById(1L).isEmpty());
+        assertTrue(userLookupService.findById(1L).isPresent());
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    void testEvict() {
+        when(userRepository.findById(1L)).thenReturn(Optional.of(user));
+
+        userLookupService.findById(1L);
+        userLookupService.evict(1L);
+        userLookupService.findById(1L);
+
+        verify(userRepository, times(2)).findById(1L);
+    }
+
+    private double cacheCount(String result) {
+        return meterRegistry.get(UserLookupService.CACHE_COUNTER).tag("result", result).functionCounter().count();
+    }
+}
@@ -6,6 +6,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.metrics.SqlStatements;
 import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
 import ru.practicum.shareit.user.model.User;
@@ -23,15 +27,18 @@ class UserServiceImplIntegrationTest {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ItemRepository itemRepository;
+
     @Test
-    void testUpdateUser() throws NotFoundException {
+    void testUpdateUser() throws NotFoundException, PreconditionFailedException {
         User user = createUser("Jane Doe", "jane.doe@example.com");
         userRepository.saveAndFlush(user);
         UserRequest updateUserRequest = new UserRequest();
         updateUserRequest.setName("Jane Smith");
         updateUserRequest.setEmail("jane.smith@example.com");
 
-        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest);
+        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest, null);
 
         assertNotNull(updatedUser);
         assertEquals(user.getId(), updatedUser.getId());
@@ -43,26 +50,40 @@ class UserServiceImplIntegrationTest {
         assertEquals("jane.smith@example.com", retrievedUser.getEmail());
     }
 
+    @Test
+    void testUpdateUserIfMatch() throws NotFoundException, PreconditionFailedException {
+        User user = userRepository.saveAndFlush(createUser("Jane Roe", "jane.roe@example.com"));
+        var etag = userService.getUserTag(user.getId());
+        UserRequest updateUserRequest = new UserRequest();
+        updateUserRequest.setName("Jane Moe");
+
+        userService.updateUser(user.getId(), updateUserRequest, etag);
+
+        assertThrows(PreconditionFailedException.class,
+                () -> userService.updateUser(user.getId(), updateUserRequest, etag));
+        assertEquals(1L, userRepository.findById(user.getId()).orElseThrow().getVersion());
+    }
+
     @Test
     void testUpdateUserNotFound() {
         UserRequest updateUserRequest = new UserRequest();
         updateUserRequest.setName("Nonexistent User");
 
         NotFoundException thrown = assertThrows(NotFoundException.class, () -> {
-            userService.updateUser(999L, updateUserRequest);
+            userService.updateUser(999L, updateUserRequest, null);
         });
 
         assertEquals("USER с id 999 не существует", thrown.getMessage());
     }
 
     @Test
-    void testUpdateUserNoEmail() throws NotFoundException {
+    void testUpdateUserNoEmail() throws NotFoundException, PreconditionFailedException {
         User user = createUser("John Doe", "john.doe.no.email@example.com");
         userRepository.saveAndFlush(user);
         UserRequest updateUserRequest = new UserRequest();
         updateUserRequest.setName("John Updated");
 
-        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest);
+        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest, null);
 
         assertNotNull(updatedUser);
         assertEquals(user.getId(), updatedUser.getId());
@@ -75,13 +96,13 @@ class UserServiceImplIntegrationTest {
     }
 
     @Test
-    void testUpdateUserNoName() throws NotFoundException {
+    void testUpdateUserNoName() throws NotFoundException, PreconditionFailedException {
         User user = createUser("Bob Doe", "bob.doe@example.com");
         userRepository.saveAndFlush(user);
         UserRequest updateUserRequest = new UserRequest();
         updateUserRequest.setEmail("bob.updated@example.com");
 
-        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest);
+        UserResponse updatedUser = userService.updateUser(user.getId(), updateUserRequest, null);
 
         assertNotNull(updatedUser);
         assertEquals(user.getId(), updatedUser.getId());
@@ -93,6 +114,32 @@ class UserServiceImplIntegrationTest {
         assertEquals("bob.updated@example.com", retrievedUser.getEmail());
     }
 
+    @Test
+    void testFindByIdServedFromEntityCache() throws Throwable {
+        User user = userRepository.saveAndFlush(createUser("Cached User", "cached.user@example.com"));
+        userRepository.findById(user.getId());
+
+        var cached = SqlStatements.assertAtMost(0, () -> userRepository.findById(user.getId()));
+
+        assertEquals("Cached User", cached.orElseThrow().getName());
+    }
+
+    @Test
+    void testDeleteUserEvictsCascadedItems() {
+        User owner = userRepository.saveAndFlush(createUser("Owner", "cascade.owner@example.com"));
+        Item item = itemRepository.saveAndFlush(Item.builder()
+                .name("Drill")
+                .description("Cordless drill")
+                .isAvailable(true)
+                .user(owner)
+                .build());
+        assertTrue(itemRepository.findById(item.getId()).isPresent());
+
+        assertTrue(userService.deleteUser(owner.getId()));
+
+        assertTrue(itemRepository.findById(item.getId()).isEmpty());
+    }
+
     private User createUser(String name, String email) {
         return User.builder()
                 .name(name)
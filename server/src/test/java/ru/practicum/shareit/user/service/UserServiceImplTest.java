@@ -6,11 +6,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.exception.model.NotFoundException;
+import ru.practicum.shareit.exception.model.PreconditionFailedException;
+import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.user.dto.UserRequest;
 import ru.practicum.shareit.user.dto.UserResponse;
+import ru.practicum.shareit.user.event.UserDeletedEvent;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
@@ -21,6 +25,8 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,6 +37,15 @@ class UserServiceImplTest {
     @Mock
     private UserMapper userMapper;
 
+    @Mock
+    private UserLookupService userLookupService;
+
+    @Mock
+    private ItemRepository itemRepository;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private UserServiceImpl userService;
 
@@ -44,6 +59,7 @@ class UserServiceImplTest {
         mockUser = new User();
         mockUser.setId(1L);
         mockUser.setName("John Doe");
+        mockUser.setVersion(0L);
         mockUser.setEmail("john.doe@example.com");
 
         mockUserRequest = new UserRequest();
@@ -96,7 +112,7 @@ class UserServiceImplTest {
     }
 
     @Test
-    void testUpdateUser() throws NotFoundException {
+    void testUpdateUser() throws NotFoundException, PreconditionFailedException {
         when(userRepository.findById(anyLong())).thenReturn(Optional.of(mockUser));
         when(userRepository.saveAndFlush(any(User.class))).thenReturn(mockUser);
         when(userMapper.toDto(mockUser)).thenReturn(updateMockUserResponse);
@@ -105,11 +121,12 @@ class UserServiceImplTest {
         updatedRequest.setName("Jane Doe");
         updatedRequest.setEmail("jane.doe@example.com");
 
-        UserResponse userResponse = userService.updateUser(1L, updatedRequest);
+        UserResponse userResponse = userService.updateUser(1L, updatedRequest, null);
 
         assertNotNull(userResponse);
         assertEquals("Jane Doe", userResponse.getName());
         assertEquals("jane.doe@example.com", userResponse.getEmail());
+        verify(userLookupService).evict(1L);
     }
 
     @Test
@@ -119,7 +136,7 @@ class UserServiceImplTest {
         UserRequest updatedRequest = new UserRequest();
         updatedRequest.setName("Jane Doe");
 
-        assertThrows(NotFoundException.class, () -> userService.updateUser(1L, updatedRequest));
+        assertThrows(NotFoundException.class, () -> userService.updateUser(1L, updatedRequest, null));
     }
 
     @Test
@@ -129,6 +146,7 @@ class UserServiceImplTest {
         boolean isDeleted = userService.deleteUser(1L);
 
         assertTrue(isDeleted);
+        verify(eventPublisher).publishEvent(new UserDeletedEvent(1L));
     }
 
     @Test
@@ -138,6 +156,7 @@ class UserServiceImplTest {
         boolean isDeleted = userService.deleteUser(1L);
 
         assertFalse(isDeleted);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test